@@ -0,0 +1,52 @@
+package com.bosch.bci.ramos.benchmarks;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Aspect models of a given size for the benchmarks, see {@link SyntheticAspectGenerator}. About one in ten
+ * elements breaks a guideline, so the fixing rules have work to do as well.
+ */
+public class AspectFixtures {
+
+   /** The SAMM meta-model URN the fixtures are written against. */
+   public static final String SAMM_URN = "urn:samm:org.eclipse.esmf.samm:meta-model:2.1.0#";
+
+   // Kept strongly reachable, the log manager only holds loggers weakly
+   private static final Logger VALIDATOR_LOGGER = Logger.getLogger( "com.bosch.bci.ramos" );
+
+   private AspectFixtures() {
+   }
+
+   /**
+    * Turns off the validator's own logging so the benchmarks measure validation, not console output.
+    */
+   public static void silenceLogging() {
+      VALIDATOR_LOGGER.setLevel( Level.OFF );
+   }
+
+   /**
+    * @return a logger that discards everything, for the rule contexts of the benchmarks
+    */
+   public static Logger quietLogger() {
+      Logger logger = Logger.getAnonymousLogger();
+      logger.setUseParentHandlers( false );
+      logger.setLevel( Level.OFF );
+      return logger;
+   }
+
+   /**
+    * @param properties the number of properties of the aspect
+    * @return the Turtle of an aspect with that many properties, spread over entities as in hand-written models
+    */
+   public static byte[] aspect( int properties ) {
+      return new SyntheticAspectGenerator( 42 ).properties( properties ).generate();
+   }
+}
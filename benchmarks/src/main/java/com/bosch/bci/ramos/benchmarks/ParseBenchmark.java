@@ -0,0 +1,68 @@
+package com.bosch.bci.ramos.benchmarks;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.Rio;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bosch.bci.ramos.SammMetaModelVersionExtractor;
+
+/**
+ * Reading an aspect: SAMM version detection on the raw bytes and parsing the Turtle into a model.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class ParseBenchmark {
+
+   @Param( { "10", "1000", "50000" } )
+   public int properties;
+
+   private byte[] content;
+
+   @Setup
+   public void setUp() {
+      AspectFixtures.silenceLogging();
+      content = AspectFixtures.aspect( properties );
+   }
+
+   @Benchmark
+   public SammMetaModelVersionExtractor.Scan versionScan() {
+      return SammMetaModelVersionExtractor.scan( ByteBuffer.wrap( content ), false );
+   }
+
+   @Benchmark
+   public SammMetaModelVersionExtractor.Scan versionFullScan() {
+      return SammMetaModelVersionExtractor.scan( ByteBuffer.wrap( content ), true );
+   }
+
+   @Benchmark
+   public Model parse() throws IOException {
+      return Rio.parse( new ByteArrayInputStream( content ), "", RDFFormat.TURTLE );
+   }
+}
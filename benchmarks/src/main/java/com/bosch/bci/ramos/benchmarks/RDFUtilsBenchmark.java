@@ -0,0 +1,65 @@
+package com.bosch.bci.ramos.benchmarks;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.Rio;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bosch.bci.ramos.RDFUtils;
+
+/**
+ * The model-wide checks of {@link RDFUtils} that are called on their own, outside of a full rule run.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class RDFUtilsBenchmark {
+
+   @Param( { "10", "1000", "50000" } )
+   public int properties;
+
+   private Model model;
+   private Logger logger;
+
+   @Setup
+   public void setUp() throws IOException {
+      AspectFixtures.silenceLogging();
+      model = Rio.parse( new ByteArrayInputStream( AspectFixtures.aspect( properties ) ), "", RDFFormat.TURTLE );
+      logger = AspectFixtures.quietLogger();
+   }
+
+   @Benchmark
+   public int checkRequiredProperties() {
+      return RDFUtils.checkRequiredProperties( model, logger, AspectFixtures.SAMM_URN );
+   }
+
+   @Benchmark
+   public int validateExampleValue() {
+      return RDFUtils.validateExampleValue( model, logger, AspectFixtures.SAMM_URN );
+   }
+}
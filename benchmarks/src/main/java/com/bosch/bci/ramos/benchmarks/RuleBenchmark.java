@@ -0,0 +1,85 @@
+package com.bosch.bci.ramos.benchmarks;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.Rio;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bosch.bci.ramos.Rule;
+import com.bosch.bci.ramos.RuleContext;
+import com.bosch.bci.ramos.RuleEngine;
+import com.bosch.bci.ramos.SammVocabulary;
+
+/**
+ * One traversal of a parsed model by a single guideline rule, or by all of them as analyzeFile runs them.
+ * Replacements are collected but not applied, so every invocation sees the same model.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class RuleBenchmark {
+
+   @Param( { "10", "1000", "50000" } )
+   public int properties;
+
+   /** The id of a default rule, or "all" for the whole default rule set. */
+   @Param( { "preferred-name", "description", "required-properties", "preferred-name-description", "example-value", "all" } )
+   public String rule;
+
+   private Model model;
+   private SammVocabulary vocabulary;
+   private Function<SammVocabulary, Rule> ruleFactory;
+   private Logger logger;
+
+   @Setup
+   public void setUp() throws IOException {
+      AspectFixtures.silenceLogging();
+      model = Rio.parse( new ByteArrayInputStream( AspectFixtures.aspect( properties ) ), "", RDFFormat.TURTLE );
+      vocabulary = SammVocabulary.forUrn( AspectFixtures.SAMM_URN );
+      logger = AspectFixtures.quietLogger();
+      if ( !rule.equals( "all" ) ) {
+         ruleFactory = RuleEngine.DEFAULT_RULES.stream()
+               .filter( factory -> factory.apply( vocabulary ).getId().equals( rule ) )
+               .findFirst()
+               .orElseThrow( () -> new IllegalArgumentException( "Unknown rule: " + rule ) );
+      }
+   }
+
+   @Benchmark
+   public RuleContext run() {
+      // Rules keep per-file state, so every invocation gets fresh instances
+      RuleEngine engine = ruleFactory == null
+            ? RuleEngine.withDefaultRules( vocabulary )
+            : new RuleEngine( List.of( ruleFactory.apply( vocabulary ) ) );
+      RuleContext context = new RuleContext( vocabulary, model, logger );
+      engine.run( model, context );
+      return context;
+   }
+}
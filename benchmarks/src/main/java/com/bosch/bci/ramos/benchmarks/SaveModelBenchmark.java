@@ -0,0 +1,71 @@
+package com.bosch.bci.ramos.benchmarks;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.Rio;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bosch.bci.ramos.RDFUtils;
+
+/**
+ * Writing a model back to its file: pretty-printed Turtle, the empty list fix, the copyright notice and the
+ * atomic replace of the target.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.Throughput )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class SaveModelBenchmark {
+
+   @Param( { "10", "1000", "50000" } )
+   public int properties;
+
+   private Model model;
+   private Path directory;
+   private String target;
+
+   @Setup
+   public void setUp() throws IOException {
+      AspectFixtures.silenceLogging();
+      model = Rio.parse( new ByteArrayInputStream( AspectFixtures.aspect( properties ) ), "", RDFFormat.TURTLE );
+      directory = Files.createTempDirectory( "save-model-benchmark" );
+      target = directory.resolve( "Benchmark.ttl" ).toString();
+   }
+
+   @TearDown
+   public void tearDown() throws IOException {
+      Files.deleteIfExists( Path.of( target ) );
+      Files.deleteIfExists( directory );
+   }
+
+   @Benchmark
+   public void saveModel() throws IOException {
+      RDFUtils.saveModel( model, target, "2025" );
+   }
+}
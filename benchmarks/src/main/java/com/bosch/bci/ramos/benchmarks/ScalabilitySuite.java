@@ -0,0 +1,389 @@
+package com.bosch.bci.ramos.benchmarks;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.Rio;
+
+import com.bosch.bci.ramos.BatchValidator;
+import com.bosch.bci.ramos.RDFUtils;
+import com.bosch.bci.ramos.RuleContext;
+import com.bosch.bci.ramos.RuleEngine;
+import com.bosch.bci.ramos.SammVocabulary;
+
+/**
+ * Measures how validation time and heap grow with the size of an aspect and with the number of files.
+ * <p>
+ * The properties sweep validates single aspects from 10 to 100k properties stage by stage (parse, rules, save).
+ * The files sweep runs the batch validator over corpora of 1 to 10k files. Each step is ten times larger than
+ * the previous one; the growth exponent between two steps is log(time ratio) / log(size ratio), so 1 is linear
+ * and 2 is quadratic. A step whose exponent exceeds the threshold is reported as superlinear and makes the
+ * suite exit with 1. A sweep stops early when the next step would exceed the time budget or a step fails.
+ * <pre>
+ * java -cp benchmarks.jar com.bosch.bci.ramos.benchmarks.ScalabilitySuite [options]
+ * </pre>
+ */
+public class ScalabilitySuite {
+
+   private static final String USAGE =
+         "Usage: java -cp benchmarks.jar " + ScalabilitySuite.class.getName() + " [options]\n" +
+         "      --sweep <s>               properties, files or all (default: all)\n" +
+         "      --max-properties <n>      largest aspect of the properties sweep (default: 100000)\n" +
+         "      --max-files <n>           largest corpus of the files sweep (default: 10000)\n" +
+         "      --properties-per-file <n> size of the aspects in the files sweep (default: 20)\n" +
+         "      --threads <n>             worker threads of the files sweep (default: available processors)\n" +
+         "      --repeats <n>             runs per step, the fastest counts (default: 3)\n" +
+         "      --budget <s>              longest step in seconds before a sweep stops (default: 120)\n" +
+         "      --threshold <e>           growth exponent reported as superlinear (default: 1.5)\n" +
+         "      --seed <n>                seed of the generated aspects (default: 42)\n" +
+         "      --work <dir>              directory for generated files (default: a temporary directory, deleted afterwards)";
+
+   // Steps faster than this are too noisy for a growth exponent
+   private static final double MIN_MEASURABLE_MILLIS = 50;
+
+   private String sweep = "all";
+   private int maxProperties = 100_000;
+   private int maxFiles = 10_000;
+   private int propertiesPerFile = 20;
+   private int threads = Runtime.getRuntime().availableProcessors();
+   private int repeats = 3;
+   private double budgetSeconds = 120;
+   private double threshold = 1.5;
+   private long seed = 42;
+   private Path work;
+
+   private boolean superlinear = false;
+   private boolean failed = false;
+
+   /**
+    * Time and memory of one step of a sweep.
+    */
+   private static class Measurement {
+      double parseMillis;
+      double rulesMillis;
+      double saveMillis;
+      double totalMillis;
+      long retainedBytes = -1;
+      long allocatedBytes = -1;
+   }
+
+   public static void main( String[] args ) throws IOException {
+      ScalabilitySuite suite = new ScalabilitySuite();
+      try {
+         suite.parse( args );
+      } catch ( IllegalArgumentException e ) {
+         System.err.println( e.getMessage() );
+         System.err.println( USAGE );
+         System.exit( 2 );
+      }
+      System.exit( suite.run() );
+   }
+
+   private void parse( String[] args ) {
+      for ( int i = 0; i < args.length; i++ ) {
+         String arg = args[i];
+         if ( arg.equals( "-h" ) || arg.equals( "--help" ) ) {
+            System.out.println( USAGE );
+            System.exit( 0 );
+         }
+         if ( i + 1 >= args.length ) {
+            throw new IllegalArgumentException( "Missing value for " + arg );
+         }
+         String value = args[++i];
+         switch ( arg ) {
+            case "--sweep":
+               if ( !value.equals( "properties" ) && !value.equals( "files" ) && !value.equals( "all" ) ) {
+                  throw new IllegalArgumentException( "Unknown sweep: " + value );
+               }
+               sweep = value;
+               break;
+            case "--max-properties":
+               maxProperties = Integer.parseInt( value );
+               break;
+            case "--max-files":
+               maxFiles = Integer.parseInt( value );
+               break;
+            case "--properties-per-file":
+               propertiesPerFile = Integer.parseInt( value );
+               break;
+            case "--threads":
+               threads = Integer.parseInt( value );
+               break;
+            case "--repeats":
+               repeats = Math.max( 1, Integer.parseInt( value ) );
+               break;
+            case "--budget":
+               budgetSeconds = Double.parseDouble( value );
+               break;
+            case "--threshold":
+               threshold = Double.parseDouble( value );
+               break;
+            case "--seed":
+               seed = Long.parseLong( value );
+               break;
+            case "--work":
+               work = Paths.get( value );
+               break;
+            default:
+               throw new IllegalArgumentException( "Unknown option: " + arg );
+         }
+      }
+   }
+
+   private int run() throws IOException {
+      AspectFixtures.silenceLogging();
+      boolean temporary = work == null;
+      if ( temporary ) {
+         work = Files.createTempDirectory( "scalability" );
+      }
+      try {
+         if ( !sweep.equals( "files" ) ) {
+            propertiesSweep();
+         }
+         if ( !sweep.equals( "properties" ) ) {
+            filesSweep();
+         }
+      } finally {
+         if ( temporary ) {
+            delete( work );
+         }
+      }
+      if ( failed || superlinear ) {
+         System.out.println( failed ? "A step failed." : "Superlinear growth found." );
+         return 1;
+      }
+      System.out.println( "All steps grew at most with exponent " + threshold + "." );
+      return 0;
+   }
+
+   private void propertiesSweep() throws IOException {
+      System.out.println( "Properties sweep: one aspect, parse + rules + save" );
+      System.out.printf( "%10s %10s %10s %10s %10s %9s %12s %13s%n", "properties", "parse ms", "rules ms", "save ms", "total ms", "exponent",
+            "retained MB", "allocated MB" );
+      // Warm up the parser, the rules and the writer before the first measured step
+      measureAspect( 10 );
+      measureAspect( 100 );
+
+      Measurement previous = null;
+      int previousSize = 0;
+      for ( int size = 10; size <= maxProperties; size *= 10 ) {
+         if ( previous != null && !withinBudget( previous.totalMillis, previousSize, size ) ) {
+            break;
+         }
+         Measurement current;
+         try {
+            current = best( size );
+         } catch ( Exception | Error e ) {
+            System.out.printf( "%10d failed: %s%n", size, e );
+            failed = true;
+            break;
+         }
+         String exponent = exponent( previous == null ? 0 : previous.totalMillis, previousSize, current.totalMillis, size );
+         System.out.printf( "%10d %10.1f %10.1f %10.1f %10.1f %9s %12.1f %13.1f%n", size, current.parseMillis, current.rulesMillis,
+               current.saveMillis, current.totalMillis, exponent, megabytes( current.retainedBytes ), megabytes( current.allocatedBytes ) );
+         previous = current;
+         previousSize = size;
+      }
+      System.out.println();
+   }
+
+   private Measurement best( int size ) throws IOException {
+      Measurement best = null;
+      for ( int run = 0; run < repeats; run++ ) {
+         Measurement measurement = measureAspect( size );
+         if ( best == null || measurement.totalMillis < best.totalMillis ) {
+            best = measurement;
+         }
+         if ( measurement.totalMillis > budgetSeconds * 1000 / repeats ) {
+            // Long steps are stable enough, repeating them only costs time
+            break;
+         }
+      }
+      return best;
+   }
+
+   private Measurement measureAspect( int size ) throws IOException {
+      byte[] content = new SyntheticAspectGenerator( seed ).properties( size ).generate();
+      SammVocabulary vocabulary = SammVocabulary.forUrn( AspectFixtures.SAMM_URN );
+      Path target = work.resolve( "Aspect" + size + ".ttl" );
+      Measurement measurement = new Measurement();
+      long baseline = usedHeapAfterGc();
+      long allocatedBefore = allocatedBytes();
+
+      long start = System.nanoTime();
+      Model model = Rio.parse( new ByteArrayInputStream( content ), "", RDFFormat.TURTLE );
+      long parsed = System.nanoTime();
+      RuleContext context = new RuleContext( vocabulary, model, AspectFixtures.quietLogger() );
+      RuleEngine.withDefaultRules( vocabulary ).run( model, context );
+      context.applyReplacements();
+      long checked = System.nanoTime();
+      RDFUtils.saveModel( model, target.toString(), "2025" );
+      long saved = System.nanoTime();
+
+      long allocatedAfter = allocatedBytes();
+      if ( allocatedBefore >= 0 && allocatedAfter >= 0 ) {
+         measurement.allocatedBytes = allocatedAfter - allocatedBefore;
+      }
+      // The model is still referenced here, so it counts as retained
+      measurement.retainedBytes = Math.max( 0, usedHeapAfterGc() - baseline );
+      if ( model.isEmpty() ) {
+         throw new IllegalStateException( "Generated aspect has no statements" );
+      }
+      Files.deleteIfExists( target );
+
+      measurement.parseMillis = ( parsed - start ) / 1e6;
+      measurement.rulesMillis = ( checked - parsed ) / 1e6;
+      measurement.saveMillis = ( saved - checked ) / 1e6;
+      measurement.totalMillis = ( saved - start ) / 1e6;
+      return measurement;
+   }
+
+   private void filesSweep() throws IOException {
+      System.out.println( "Files sweep: batch validation of aspects with " + propertiesPerFile + " properties on " + threads + " threads" );
+      System.out.printf( "%10s %10s %10s %9s %12s%n", "files", "total ms", "ms/file", "exponent", "peak heap MB" );
+      // Warm up the batch path
+      validateCorpus( 10 );
+
+      double previousMillis = 0;
+      int previousSize = 0;
+      for ( int size = 1; size <= maxFiles; size *= 10 ) {
+         if ( previousSize > 0 && !withinBudget( previousMillis, previousSize, size ) ) {
+            break;
+         }
+         double millis;
+         long peak;
+         try {
+            resetPeakHeap();
+            millis = validateCorpus( size );
+            peak = peakHeap();
+         } catch ( Exception | Error e ) {
+            System.out.printf( "%10d failed: %s%n", size, e );
+            failed = true;
+            break;
+         }
+         String exponent = exponent( previousMillis, previousSize, millis, size );
+         System.out.printf( "%10d %10.1f %10.2f %9s %12.1f%n", size, millis, millis / size, exponent, megabytes( peak ) );
+         previousMillis = millis;
+         previousSize = size;
+      }
+      System.out.println();
+   }
+
+   /**
+    * Generates a corpus, validates it with the batch validator and returns the wall time in milliseconds.
+    */
+   private double validateCorpus( int files ) throws IOException {
+      Path corpus = work.resolve( "corpus" + files );
+      new SyntheticAspectGenerator( seed ).properties( propertiesPerFile ).writeCorpus( corpus, files );
+      PrintStream out = System.out;
+      long start = System.nanoTime();
+      int exitCode;
+      try {
+         // The batch summary would interleave with the table
+         System.setOut( new PrintStream( OutputStream.nullOutputStream() ) );
+         exitCode = BatchValidator.run( new String[] { "--threads", Integer.toString( threads ), corpus.toString() } );
+      } finally {
+         System.setOut( out );
+      }
+      double millis = ( System.nanoTime() - start ) / 1e6;
+      delete( corpus );
+      if ( exitCode == BatchValidator.EXIT_ERROR ) {
+         throw new IllegalStateException( "The batch validator failed on " + files + " files" );
+      }
+      return millis;
+   }
+
+   /**
+    * Whether the next step is expected to finish within the budget, extrapolating with the growth seen so far
+    * (at least linear).
+    */
+   private boolean withinBudget( double previousMillis, int previousSize, int nextSize ) {
+      double expected = previousMillis * nextSize / previousSize;
+      if ( expected > budgetSeconds * 1000 ) {
+         System.out.printf( "%10d skipped: expected to take more than the budget of %.0f s%n", nextSize, budgetSeconds );
+         return false;
+      }
+      return true;
+   }
+
+   private String exponent( double previousMillis, int previousSize, double millis, int size ) {
+      if ( previousSize == 0 || previousMillis < MIN_MEASURABLE_MILLIS || millis < MIN_MEASURABLE_MILLIS ) {
+         return "-";
+      }
+      double exponent = Math.log( millis / previousMillis ) / Math.log( (double) size / previousSize );
+      if ( exponent > threshold ) {
+         superlinear = true;
+         return String.format( "%.2f !", exponent );
+      }
+      return String.format( "%.2f", exponent );
+   }
+
+   private static long usedHeapAfterGc() {
+      System.gc();
+      Runtime runtime = Runtime.getRuntime();
+      return runtime.totalMemory() - runtime.freeMemory();
+   }
+
+   private static long allocatedBytes() {
+      ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+      if ( threads instanceof com.sun.management.ThreadMXBean ) {
+         return ( (com.sun.management.ThreadMXBean) threads ).getCurrentThreadAllocatedBytes();
+      }
+      return -1;
+   }
+
+   private static void resetPeakHeap() {
+      System.gc();
+      for ( MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans() ) {
+         if ( pool.getType() == MemoryType.HEAP ) {
+            pool.resetPeakUsage();
+         }
+      }
+   }
+
+   // The sum of the pool peaks, an upper bound of the peak heap use
+   private static long peakHeap() {
+      long peak = 0;
+      for ( MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans() ) {
+         if ( pool.getType() == MemoryType.HEAP ) {
+            peak += pool.getPeakUsage().getUsed();
+         }
+      }
+      return peak;
+   }
+
+   private static double megabytes( long bytes ) {
+      return bytes < 0 ? Double.NaN : bytes / ( 1024.0 * 1024.0 );
+   }
+
+   private static void delete( Path directory ) throws IOException {
+      if ( !Files.exists( directory ) ) {
+         return;
+      }
+      try ( Stream<Path> paths = Files.walk( directory ) ) {
+         for ( Path path : (Iterable<Path>) paths.sorted( Comparator.reverseOrder() )::iterator ) {
+            Files.delete( path );
+         }
+      }
+   }
+}
@@ -0,0 +1,396 @@
+package com.bosch.bci.ramos.benchmarks;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Deterministic generator of SAMM aspect models for benchmarks and scalability runs.
+ * <p>
+ * The same seed and settings always produce the same bytes. The size and shape of an aspect are controlled by
+ * the number of properties, scalar characteristics, entities and languages; the properties are spread over
+ * the aspect and its entities, so property lists stay as short as in hand-written models. A share of the
+ * generated elements breaks a modeling guideline (capitalized preferredName, malformed or empty description,
+ * missing example value, missing copyright notice), so the rules find work at a known rate.
+ * <p>
+ * Run it on its own to write a corpus:
+ * <pre>
+ * java -cp benchmarks.jar com.bosch.bci.ramos.benchmarks.SyntheticAspectGenerator --out corpus --files 1000 --properties 50
+ * </pre>
+ */
+public class SyntheticAspectGenerator {
+
+   private static final String USAGE =
+         "Usage: java -cp benchmarks.jar " + SyntheticAspectGenerator.class.getName() + " --out <dir> [options]\n" +
+         "      --files <n>              number of aspect files (default: 1)\n" +
+         "      --properties <n>         properties per aspect (default: 50)\n" +
+         "      --characteristics <n>    scalar characteristics per aspect (default: properties / 2)\n" +
+         "      --entities <n>           entities per aspect (default: properties / 20)\n" +
+         "      --languages <l,...>      languages of preferredName and description (default: en)\n" +
+         "      --samm-versions <v,...>  SAMM versions, the first one is used, the others are only declared (default: 2.1.0)\n" +
+         "      --violation-rate <r>     share of elements breaking a guideline, 0 to 1 (default: 0.1)\n" +
+         "      --seed <n>               random seed (default: 42)";
+
+   // Number of entities referenced by the aspect or by one entity
+   private static final int ENTITY_FANOUT = 20;
+
+   private static final String[] XSD_TYPES = { "string", "integer", "double", "boolean", "float", "dateTime", "decimal", "long" };
+
+   private static final String[] WORDS_EN = { "vehicle", "speed", "position", "battery", "level", "temperature", "pressure", "door",
+         "status", "engine", "load", "torque", "sensor", "value", "mode", "signal", "range", "distance", "weight", "capacity" };
+   private static final String[] WORDS_DE = { "fahrzeug", "geschwindigkeit", "position", "batterie", "stand", "temperatur", "druck",
+         "tuer", "zustand", "motor", "last", "drehmoment", "sensor", "wert", "modus", "signal", "bereich", "abstand", "gewicht", "kapazitaet" };
+   private static final String[] WORDS_FR = { "vehicule", "vitesse", "position", "batterie", "niveau", "temperature", "pression",
+         "porte", "etat", "moteur", "charge", "couple", "capteur", "valeur", "mode", "signal", "plage", "distance", "poids", "capacite" };
+
+   private final long seed;
+   private int properties = 50;
+   private int characteristics = -1;
+   private int entities = -1;
+   private List<String> languages = List.of( "en" );
+   private List<String> sammVersions = List.of( "2.1.0" );
+   private double violationRate = 0.1;
+
+   /**
+    * @param seed the seed of the random generator; the same seed and settings give the same aspect
+    */
+   public SyntheticAspectGenerator( long seed ) {
+      this.seed = seed;
+   }
+
+   /** Number of properties, not counting the ones that refer to an entity. */
+   public SyntheticAspectGenerator properties( int properties ) {
+      if ( properties < 1 ) {
+         throw new IllegalArgumentException( "An aspect needs at least one property" );
+      }
+      this.properties = properties;
+      return this;
+   }
+
+   /** Number of scalar characteristics shared by the properties, by default half the number of properties. */
+   public SyntheticAspectGenerator characteristics( int characteristics ) {
+      if ( characteristics < 1 ) {
+         throw new IllegalArgumentException( "An aspect needs at least one characteristic" );
+      }
+      this.characteristics = characteristics;
+      return this;
+   }
+
+   /** Number of entities the properties are spread over, by default one per 20 properties. */
+   public SyntheticAspectGenerator entities( int entities ) {
+      if ( entities < 0 ) {
+         throw new IllegalArgumentException( "The number of entities must not be negative" );
+      }
+      this.entities = entities;
+      return this;
+   }
+
+   /** Languages of every preferredName and description, e.g. "en", "de". */
+   public SyntheticAspectGenerator languages( String... languages ) {
+      if ( languages.length == 0 ) {
+         throw new IllegalArgumentException( "At least one language is needed" );
+      }
+      this.languages = List.of( languages );
+      return this;
+   }
+
+   /** SAMM meta-model versions; the aspect uses the first one, the others are only declared as prefixes. */
+   public SyntheticAspectGenerator sammVersions( String... sammVersions ) {
+      if ( sammVersions.length == 0 ) {
+         throw new IllegalArgumentException( "At least one SAMM version is needed" );
+      }
+      this.sammVersions = List.of( sammVersions );
+      return this;
+   }
+
+   /** Share of generated elements that break a guideline, from 0 to 1. */
+   public SyntheticAspectGenerator violationRate( double violationRate ) {
+      if ( violationRate < 0 || violationRate > 1 ) {
+         throw new IllegalArgumentException( "The violation rate must be between 0 and 1" );
+      }
+      this.violationRate = violationRate;
+      return this;
+   }
+
+   public int getProperties() {
+      return properties;
+   }
+
+   public int getCharacteristics() {
+      return characteristics > 0 ? characteristics : Math.max( 1, properties / 2 );
+   }
+
+   public int getEntities() {
+      return entities >= 0 ? entities : properties / 20;
+   }
+
+   /**
+    * @return the Turtle of the aspect
+    */
+   public byte[] generate() {
+      return generate( 0 ).getBytes( StandardCharsets.UTF_8 );
+   }
+
+   /**
+    * Writes the aspect to a file.
+    */
+   public void write( Path file ) throws IOException {
+      Files.write( file, generate() );
+   }
+
+   /**
+    * Writes a corpus of aspects with the current settings. Every file has its own namespace and is generated
+    * from its own seed derived from the generator seed, at most 1000 files per sub-directory.
+    *
+    * @param directory the directory to write to, created if necessary
+    * @param files the number of files
+    * @return the written files
+    */
+   public List<Path> writeCorpus( Path directory, int files ) throws IOException {
+      List<Path> written = new ArrayList<>( files );
+      for ( int i = 0; i < files; i++ ) {
+         Path subdirectory = directory.resolve( String.format( "part%03d", i / 1000 ) );
+         Files.createDirectories( subdirectory );
+         Path file = subdirectory.resolve( "Aspect" + i + ".ttl" );
+         Files.write( file, generate( i ).getBytes( StandardCharsets.UTF_8 ) );
+         written.add( file );
+      }
+      return written;
+   }
+
+   private String generate( int index ) {
+      Random random = new Random( seed * 31 + index );
+      int characteristicCount = getCharacteristics();
+      int entityCount = getEntities();
+      String sammVersion = sammVersions.get( 0 );
+      StringBuilder ttl = new StringBuilder( 1024 + properties * 200 * languages.size() );
+
+      if ( !violates( random ) ) {
+         ttl.append( "#\n# Copyright (c) 2025 Robert Bosch Manufacturing Solutions GmbH, Germany. All rights reserved.\n#\n\n" );
+      }
+      ttl.append( "@prefix samm: <urn:samm:org.eclipse.esmf.samm:meta-model:" ).append( sammVersion ).append( "#> .\n" );
+      ttl.append( "@prefix samm-c: <urn:samm:org.eclipse.esmf.samm:characteristic:" ).append( sammVersion ).append( "#> .\n" );
+      for ( int v = 1; v < sammVersions.size(); v++ ) {
+         ttl.append( "@prefix samm-" ).append( v ).append( ": <urn:samm:org.eclipse.esmf.samm:meta-model:" ).append( sammVersions.get( v ) )
+               .append( "#> .\n" );
+      }
+      ttl.append( "@prefix xsd: <http://www.w3.org/2001/XMLSchema#> .\n" );
+      ttl.append( "@prefix : <urn:samm:com.example.synthetic" ).append( index == 0 ? "" : ".aspect" + index ).append( ":1.0.0#> .\n\n" );
+
+      // Owner 0 is the aspect, owner k > 0 is entity k - 1; property i belongs to owner i % (entities + 1).
+      int owners = entityCount + 1;
+      List<List<String>> owned = new ArrayList<>( owners );
+      for ( int owner = 0; owner < owners; owner++ ) {
+         owned.add( new ArrayList<>() );
+      }
+      for ( int i = 0; i < properties; i++ ) {
+         owned.get( i % owners ).add( ":property" + i );
+      }
+      // Entities form a tree: the first ENTITY_FANOUT are used by the aspect, the next ones by entity 0 and so on
+      for ( int e = 0; e < entityCount; e++ ) {
+         owned.get( e / ENTITY_FANOUT ).add( ":entity" + e + "Property" );
+      }
+
+      ttl.append( ":SyntheticAspect a samm:Aspect ;\n" );
+      labels( ttl, random, "synthetic aspect", index );
+      propertyList( ttl, owned.get( 0 ) );
+      ttl.append( "   samm:operations ( ) ;\n   samm:events ( ) .\n\n" );
+
+      for ( int e = 0; e < entityCount; e++ ) {
+         ttl.append( ":Entity" ).append( e ).append( " a samm:Entity ;\n" );
+         labels( ttl, random, "entity", e );
+         propertyList( ttl, owned.get( e + 1 ) );
+         ttl.setLength( ttl.length() - 2 );
+         ttl.append( ".\n\n" );
+
+         ttl.append( ":entity" ).append( e ).append( "Property a samm:Property ;\n" );
+         labels( ttl, random, "entity reference", e );
+         ttl.append( "   samm:characteristic :Entity" ).append( e ).append( "Characteristic .\n\n" );
+
+         ttl.append( ":Entity" ).append( e ).append( "Characteristic a samm:Characteristic ;\n" );
+         labels( ttl, random, "entity characteristic", e );
+         ttl.append( "   samm:dataType :Entity" ).append( e ).append( " .\n\n" );
+      }
+
+      for ( int i = 0; i < properties; i++ ) {
+         int characteristic = i % characteristicCount;
+         ttl.append( ":property" ).append( i ).append( " a samm:Property ;\n" );
+         labels( ttl, random, null, i );
+         ttl.append( "   samm:characteristic :Characteristic" ).append( characteristic );
+         if ( !violates( random ) ) {
+            ttl.append( " ;\n   samm:exampleValue " ).append( exampleValue( XSD_TYPES[characteristic % XSD_TYPES.length], i ) );
+         }
+         ttl.append( " .\n\n" );
+      }
+
+      for ( int c = 0; c < characteristicCount; c++ ) {
+         ttl.append( ":Characteristic" ).append( c ).append( " a samm:Characteristic ;\n" );
+         labels( ttl, random, "characteristic", c );
+         ttl.append( "   samm:dataType xsd:" ).append( XSD_TYPES[c % XSD_TYPES.length] ).append( " .\n\n" );
+      }
+      return ttl.toString();
+   }
+
+   private boolean violates( Random random ) {
+      return random.nextDouble() < violationRate;
+   }
+
+   private static void propertyList( StringBuilder ttl, List<String> properties ) {
+      ttl.append( "   samm:properties (" );
+      for ( String property : properties ) {
+         ttl.append( ' ' ).append( property );
+      }
+      ttl.append( " ) ;\n" );
+   }
+
+   /**
+    * Appends a preferredName and a description per language. The name is built from random words unless a fixed
+    * stem is given.
+    */
+   private void labels( StringBuilder ttl, Random random, String stem, int number ) {
+      for ( String language : languages ) {
+         String[] words = words( language );
+         String name = stem != null ? stem + " " + number
+               : words[random.nextInt( words.length )] + " " + words[random.nextInt( words.length )] + " " + number;
+         String description = "The " + name + " of the " + words[random.nextInt( words.length )] + ".";
+         if ( violates( random ) ) {
+            switch ( random.nextInt( 4 ) ) {
+               case 0:
+                  // Capitalized words in an English preferredName
+                  name = capitalizeWords( name );
+                  break;
+               case 1:
+                  // Starts in lower case and misses the final dot
+                  description = description.substring( 4, description.length() - 1 );
+                  break;
+               case 2:
+                  // Leading article
+                  description = "the " + description.substring( 4 );
+                  break;
+               default:
+                  // Empty description
+                  description = "";
+            }
+         }
+         ttl.append( "   samm:preferredName \"" ).append( name ).append( "\"@" ).append( language ).append( " ;\n" );
+         ttl.append( "   samm:description \"" ).append( description ).append( "\"@" ).append( language ).append( " ;\n" );
+      }
+   }
+
+   private static String[] words( String language ) {
+      switch ( language ) {
+         case "de":
+            return WORDS_DE;
+         case "fr":
+            return WORDS_FR;
+         default:
+            return WORDS_EN;
+      }
+   }
+
+   private static String capitalizeWords( String text ) {
+      StringBuilder capitalized = new StringBuilder( text.length() );
+      boolean wordStart = true;
+      for ( int i = 0; i < text.length(); i++ ) {
+         char c = text.charAt( i );
+         capitalized.append( wordStart ? Character.toUpperCase( c ) : c );
+         wordStart = c == ' ';
+      }
+      return capitalized.toString();
+   }
+
+   private static String exampleValue( String xsdType, int number ) {
+      switch ( xsdType ) {
+         case "integer":
+            return Integer.toString( number );
+         case "boolean":
+            return number % 2 == 0 ? "true" : "false";
+         case "string":
+            return "\"sample " + number + "\"";
+         case "dateTime":
+            return "\"2025-01-01T00:00:00Z\"^^xsd:dateTime";
+         default:
+            return "\"" + number + ".5\"^^xsd:" + xsdType;
+      }
+   }
+
+   public static void main( String[] args ) throws IOException {
+      Path out = null;
+      int files = 1;
+      long seed = 42;
+      // Applied once the seed is known
+      List<Consumer<SyntheticAspectGenerator>> settings = new ArrayList<>();
+      try {
+         for ( int i = 0; i < args.length; i++ ) {
+            String arg = args[i];
+            if ( arg.equals( "-h" ) || arg.equals( "--help" ) ) {
+               System.out.println( USAGE );
+               return;
+            }
+            if ( i + 1 >= args.length ) {
+               throw new IllegalArgumentException( "Missing value for " + arg );
+            }
+            String value = args[++i];
+            switch ( arg ) {
+               case "--out":
+                  out = Paths.get( value );
+                  break;
+               case "--files":
+                  files = Integer.parseInt( value );
+                  break;
+               case "--seed":
+                  seed = Long.parseLong( value );
+                  break;
+               case "--properties":
+                  int properties = Integer.parseInt( value );
+                  settings.add( generator -> generator.properties( properties ) );
+                  break;
+               case "--characteristics":
+                  int characteristics = Integer.parseInt( value );
+                  settings.add( generator -> generator.characteristics( characteristics ) );
+                  break;
+               case "--entities":
+                  int entities = Integer.parseInt( value );
+                  settings.add( generator -> generator.entities( entities ) );
+                  break;
+               case "--languages":
+                  settings.add( generator -> generator.languages( value.split( "," ) ) );
+                  break;
+               case "--samm-versions":
+                  settings.add( generator -> generator.sammVersions( value.split( "," ) ) );
+                  break;
+               case "--violation-rate":
+                  double violationRate = Double.parseDouble( value );
+                  settings.add( generator -> generator.violationRate( violationRate ) );
+                  break;
+               default:
+                  throw new IllegalArgumentException( "Unknown option: " + arg );
+            }
+         }
+         if ( out == null ) {
+            throw new IllegalArgumentException( "No output directory given" );
+         }
+         SyntheticAspectGenerator generator = new SyntheticAspectGenerator( seed );
+         settings.forEach( setting -> setting.accept( generator ) );
+         List<Path> written = generator.writeCorpus( out, files );
+         System.out.println( "Wrote " + written.size() + " aspects to " + out );
+      } catch ( IllegalArgumentException e ) {
+         System.err.println( e.getMessage() );
+         System.err.println( USAGE );
+         System.exit( 2 );
+      }
+   }
+}
@@ -8,31 +8,41 @@ package com.bosch.bci.ramos;
  * Written by {Luis Enrique ramos Garcia} <{LuisEnrique.RamosGarcia@bosch.com}>, {13.05.2025}
  */
 
-import org.eclipse.rdf4j.model.*;
-import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
 import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.RDFHandler;
+import org.eclipse.rdf4j.rio.RDFParser;
 import org.eclipse.rdf4j.rio.Rio;
 import org.eclipse.rdf4j.rio.UnsupportedRDFormatException;
+import org.eclipse.rdf4j.rio.helpers.NTriplesUtil;
 
 import javax.swing.*;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
-import java.nio.file.StandardCopyOption;
+import java.nio.file.Path;
+import java.time.Year;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.logging.FileHandler;
+import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.logging.SimpleFormatter;
 
 
 public class AspectGuidelineValidator {
    private static final Logger logger = Logger.getLogger( AspectGuidelineValidator.class.getName() );
 
    public static void main( String[] args ) {
+      // Any command line argument switches to the headless batch mode used on build agents
+      if ( args.length > 0 ) {
+         System.exit( BatchValidator.run( args ) );
+      }
+
       boolean continueProcessing = true;
 
       while ( continueProcessing ) {
@@ -55,7 +65,26 @@ public class AspectGuidelineValidator {
          int response = JOptionPane.showConfirmDialog( null,
                "It is recommended to make a copy of the uploaded file, before proceeding to evaluate it. Do you want to save a copy?", "Warning",
                JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE );
-         processSelectedFiles( selectedFile, response );
+         ValidationOptions options = new ValidationOptions();
+         if ( response == JOptionPane.YES_OPTION ) {
+            try {
+               options.backupStore = new BackupStore( BackupStore.DEFAULT_DIRECTORY );
+            } catch ( IOException e ) {
+               JOptionPane.showMessageDialog( null, "Cannot use the backup directory " + BackupStore.DEFAULT_DIRECTORY + ": " + e.getMessage(),
+                     "Error", JOptionPane.ERROR_MESSAGE );
+               continue;
+            }
+         }
+         // Write the findings of each file to <name>_logs.txt next to it
+         options.findingsSink = new FileLogFindingsSink();
+         List<String> failures = new ArrayList<>();
+         processSelectedFiles( selectedFile, options, failures );
+         if ( !failures.isEmpty() ) {
+            showFailures( failures );
+         }
+         if ( options.backupStore != null ) {
+            closeBackupStore( options.backupStore );
+         }
          // Ask the user if they want to analyze another file
          int continueResponse = JOptionPane.showConfirmDialog(
                null,
@@ -72,171 +101,278 @@ public class AspectGuidelineValidator {
       }
    }
 
-   private static void processSelectedFiles( File[] selectedFile, int response ) {
+   private static void closeBackupStore( BackupStore backupStore ) {
+      try {
+         backupStore.close();
+      } catch ( IOException e ) {
+         logger.log( Level.WARNING, "Cannot close the backup batch " + backupStore.getBatchId(), e );
+      }
+      if ( backupStore.getFiles() > 0 ) {
+         System.out.println( "Copies of the " + backupStore.getFiles() + " modified files stored in " + BackupStore.DEFAULT_DIRECTORY
+               + ", restore them with: java -jar AspectValidator-uber.jar --restore " + backupStore.getBatchId() );
+      }
+   }
+
+   private static void processSelectedFiles( File[] selectedFile, ValidationOptions options, List<String> failures ) {
       for ( File file : selectedFile ) {
          if ( file.isFile() ) {
             if ( !file.getName().endsWith( ".ttl" ) )
                continue;
             try {
-            	// Call the static method from SammMetaModelVersionExtractor
-                // to get the highest SAMM meta-model URN for the current .ttl file.
-                Optional<String> sammNamespace = SammMetaModelVersionExtractor.getHighestSammMetaModelUrn(file.getAbsolutePath());
-                if (sammNamespace.isPresent()) {
-                    String foundUrn = sammNamespace.get();
-                    // Assuming analyzeFile needs the URN, adjust its signature if necessary
-                    analyzeFile(file, response, foundUrn); // Pass the found URN
-                    logger.info("Processed file: " + file.getName() + " with SAMM namespace: " + foundUrn);
-                } else {
-                    // If no SAMM URN is found in a .ttl file, throw an IOException
-                    throw new IOException("Missing SAMM namespace in file: " + file.getName() + ", please check files");
-                }
-            } catch ( Exception e ) {
-               //TODO
+               validateFile( file, options );
+            } catch ( ValidationFailure e ) {
+               // Already logged and written to the file's log, the remaining files go on
+               failures.add( file.getName() + " [" + e.getKind().getId() + "]: " + e.getMessage() );
             }
          } else {
             File[] filesInDirectory = file.listFiles();
             if ( filesInDirectory == null || filesInDirectory.length == 0 ) {
                continue;
             }
-            processSelectedFiles( filesInDirectory, response );
+            processSelectedFiles( filesInDirectory, options, failures );
          }
       }
    }
 
-   private static void analyzeFile( File file, int response, String foundUrn ) {
-      String ttlFilePath = file.getAbsolutePath();
-      if ( response == JOptionPane.YES_OPTION ) {
-         // Create a copy of the file
-         File copyFile = new File( ttlFilePath.replace( ".ttl", "_original.ttl" ) );
-         try {
-            Files.copy( file.toPath(), copyFile.toPath(), StandardCopyOption.REPLACE_EXISTING );
-            System.out.println( "Copy of the file created: " + copyFile.getAbsolutePath() );
-         } catch ( IOException e ) {
-            e.printStackTrace();
-            return;
-         }
+   // Lists the files that could not be validated, the first ones if there are many
+   private static void showFailures( List<String> failures ) {
+      StringBuilder message = new StringBuilder( failures.size() + " files could not be validated:\n" );
+      failures.stream().limit( 20 ).forEach( failure -> message.append( failure ).append( '\n' ) );
+      if ( failures.size() > 20 ) {
+         message.append( "... and " ).append( failures.size() - 20 ).append( " more, see the logs" );
       }
+      JOptionPane.showMessageDialog( null, message.toString(), "Validation failures", JOptionPane.WARNING_MESSAGE );
+   }
 
-      // Configure logger to write to a file in the same location as the TTL file
+   /**
+    * Detects the SAMM meta-model version of a single .ttl file and validates it.
+    *
+    * @param file the aspect model file
+    * @param options backup, version scan, report-only and cache settings
+    * @return the findings (modifications and warnings) reported for the file
+    * @throws ValidationFailure if the file cannot be validated; the failure is also logged, counted in the metrics
+    *       and passed to the findings sink as an error finding of the file
+    */
+   static List<Finding> validateFile( File file, ValidationOptions options ) throws ValidationFailure {
+      FileTimings timings = new FileTimings( options.metrics != null );
       try {
-         String fileName = ttlFilePath.substring( ttlFilePath.lastIndexOf( File.separator ) + 1, ttlFilePath.lastIndexOf( '.' ) );
-         String logFilePath = ttlFilePath.substring( 0, ttlFilePath.lastIndexOf( File.separator ) ) + File.separator + fileName + "_logs.txt";
-         FileHandler fileHandler = new FileHandler( logFilePath, true );
-         fileHandler.setFormatter( new SimpleFormatter() );
-         logger.addHandler( fileHandler );
-      } catch ( IOException e ) {
-         e.printStackTrace();
-         return;
+         List<Finding> findings = validateFile( file, options, timings, Deadline.after( options.fileTimeout ) );
+         if ( options.metrics != null ) {
+            options.metrics.record( file.toPath(), timings, findings );
+         }
+         return findings;
+      } catch ( Exception e ) {
+         ValidationFailure failure = ValidationFailure.of( e );
+         logger.log( Level.WARNING, "Could not validate " + file + " [" + failure.getKind().getId() + "]: " + failure.getMessage(),
+               failure.getKind() == ValidationFailure.Kind.INTERNAL_ERROR ? e : null );
+         if ( options.metrics != null ) {
+            options.metrics.recordFailure( failure.getKind() );
+         }
+         try {
+            report( file, List.of( failure.toFinding() ), options );
+         } catch ( IOException reportFailure ) {
+            failure.addSuppressed( reportFailure );
+         }
+         throw failure;
       }
+   }
 
-      String copyrightYear = RDFUtils.checkCopyrightYear( ttlFilePath );
-      // Create a ValueFactory
-      SimpleValueFactory valueFactory = SimpleValueFactory.getInstance();
+   private static List<Finding> validateFile( File file, ValidationOptions options, FileTimings timings, Deadline deadline )
+         throws IOException {
+      long start = System.nanoTime();
+      // Refuse files beyond the size budget before they take any heap
+      long size = Files.size( file.toPath() );
+      if ( options.maxFileBytes > 0 && size > options.maxFileBytes ) {
+         throw new ValidationFailure( ValidationFailure.Kind.TOO_LARGE,
+               "The file has " + size + " bytes, more than the limit of " + options.maxFileBytes + " bytes per file" );
+      }
+      // Read the file once, every later step works on this buffer
+      AspectSource source = AspectSource.load( file.toPath() );
+      start = timings.add( FileTimings.Phase.READ, start );
+      // Scan the raw bytes for the SAMM meta-model URNs of the current .ttl file
+      // and continue with the highest one.
+      SammMetaModelVersionExtractor.Scan versionScan = SammMetaModelVersionExtractor.scan( source.buffer(), options.fullVersionScan );
+      start = timings.add( FileTimings.Phase.VERSION_DETECTION, start );
+      Optional<String> sammNamespace = versionScan.getHighestUrn();
+      if ( sammNamespace.isEmpty() ) {
+         // If no SAMM URN is found in a .ttl file, throw an IOException
+         throw new ValidationFailure( ValidationFailure.Kind.MISSING_SAMM_NAMESPACE, "Missing SAMM namespace in file: " + file.getName() + ", please check files" );
+      }
+      String foundUrn = sammNamespace.get();
 
-      // Read the TTL file into a model
-      Model model;
-      try ( FileInputStream inputStream = new FileInputStream( ttlFilePath ) ) {
-         model = Rio.parse( inputStream, "", RDFFormat.TURTLE );
-      } catch ( IOException e ) {
-         e.printStackTrace();
-         return;
-      } catch ( UnsupportedRDFormatException e ) {
-         System.err.println( "The file format is not supported or the file is not a valid Turtle file." );
-         e.printStackTrace();
-         return;
-      }
-
-      // List to collect statements to be modified
-      List<Statement> statementsToModify = new ArrayList<>();
-
-      // Iterate over statements
-      for ( Statement stmt : model ) {
-         // Check and modify preferredName if necessary
-         if ( stmt.getPredicate().stringValue().equals( foundUrn+"preferredName" ) ) {
-            Value preferredName = stmt.getObject();
-            String preferredNamestr = stmt.getObject().stringValue();
-            if ( preferredNamestr != null || !preferredNamestr.isEmpty() ) {
-               Value modifiedPreferredName = RDFUtils.checkAndModifyPreferredName( preferredName, stmt);
-               if ( !preferredName.stringValue().equals( modifiedPreferredName.stringValue() ) ) {
-                  //System.out.println( "Modified preferredName: " + preferredName + " to " + modifiedPreferredName );
-                  logger.info( "Modified preferredName: " + preferredName + " to " + modifiedPreferredName + " for entity: " + stmt.getSubject() );
-                  statementsToModify.add( stmt );
-               } else {
-                  preferredNamestr = stmt.getObject().stringValue();
-                  if ( preferredNamestr == null || preferredNamestr.isEmpty() ) {
-                     //System.out.println( "No preferred name found" );
-                     logger.info( "Modified preferredName not found for entity: " + stmt.getSubject() );
-                  }
-               }
-            } else {
-               logger.warning( "Preferred Name of entity: " + stmt.getSubject() + "is not present" );
+      // Replay the stored result if this content was validated before with the same validator and rules.
+      // A run that fixes files may only skip a file that needed no fix.
+      String cacheKey = null;
+      if ( options.resultCache != null ) {
+         cacheKey = ResultCache.key( source, foundUrn, options.fullVersionScan, options.workspace );
+         Optional<ResultCache.Entry> cached = options.resultCache.get( cacheKey );
+         if ( cached.isPresent() && ( options.reportOnly || cached.get().isClean() ) ) {
+            for ( Finding finding : cached.get().getFindings() ) {
+               logger.log( finding.isModification() ? Level.INFO : Level.WARNING, finding.getMessage() );
             }
+            logger.info( "Unchanged file: " + file.getName() + ", replayed " + cached.get().getFindings().size() + " cached findings" );
+            report( file, cached.get().getFindings(), options );
+            timings.setCached( true );
+            timings.add( FileTimings.Phase.CACHE_LOOKUP, start );
+            return cached.get().getFindings();
          }
+         start = timings.add( FileTimings.Phase.CACHE_LOOKUP, start );
+      }
 
-         // Check and modify description if necessary
-         if ( stmt.getPredicate().stringValue().equals( foundUrn+"description" ) ) {
-            Value description = stmt.getObject();
-            Value modifiedDescription = RDFUtils.checkAndModifyDescription( description, stmt );
+      List<Finding> findings = new ArrayList<>();
+      if ( versionScan.isMixed() ) {
+         String message = "Mixed SAMM meta-model versions " + versionScan.getUrns() + " in file: " + file.getName() + ", validating against "
+               + foundUrn;
+         logger.warning( message );
+         findings.add( new Finding( null, "samm-version", Finding.Severity.WARNING, message, null, null ) );
+      }
+      String copyrightYear = RDFUtils.checkCopyrightYear( source.buffer() );
+      timings.add( FileTimings.Phase.COPYRIGHT_SCAN, start );
+      RuleContext context = analyzeFile( file, source, options, foundUrn, copyrightYear, timings, deadline );
+      findings.addAll( context.getFindings() );
+      logger.info( "Processed file: " + file.getName() + " with SAMM namespace: " + foundUrn );
 
-            if ( !description.equals( modifiedDescription ) ) {
-               //System.out.println( "Modified description: " + description + " to " + modifiedDescription );
-               logger.info( "Modified description: " + description + " to " + modifiedDescription + " for entity: " + stmt.getSubject() );
-               statementsToModify.add( stmt );
-            }
-         }
+      if ( cacheKey != null ) {
+         boolean clean = findings.stream().noneMatch( Finding::isModification ) && RDFUtils.hasCopyrightNotice( source.buffer(), copyrightYear );
+         options.resultCache.put( cacheKey, new ResultCache.Entry( clean, findings ) );
+      }
+      report( file, findings, options );
+      return findings;
+   }
+
+   private static void report( File file, List<Finding> findings, ValidationOptions options ) throws IOException {
+      if ( options.findingsSink != null ) {
+         options.findingsSink.accept( file.toPath(), findings );
+      }
+   }
 
-         // Check if preferredName and description are the same
-         if ( stmt.getPredicate().stringValue().equals( foundUrn+"preferredName" ) ) {
-            Value preferredName = stmt.getObject();
-            for ( Statement descStmt : model.filter( stmt.getSubject(), valueFactory.createIRI( foundUrn+"description" ),
-                  null ) ) {
-               Value description = descStmt.getObject();
-               if ( preferredName.stringValue().equals( description.stringValue() ) ) {
-                  logger.warning( "preferredName and description are the same for entity: " + stmt.getSubject() );
-               }
+   private static RuleContext analyzeFile( File file, AspectSource source, ValidationOptions options, String foundUrn, String copyrightYear,
+         FileTimings timings, Deadline deadline ) throws IOException {
+      SammVocabulary vocabulary = SammVocabulary.forUrn( foundUrn );
+      long start = System.nanoTime();
+      if ( options.reportOnly ) {
+         // Evaluate the rules while the statements are parsed, without building a model or writing the file
+         RuleContext context = newRuleContext( vocabulary, null, options, timings );
+         RDFHandler handler = deadline.wrap( new RuleHandler( RuleEngine.withDefaultRules( vocabulary ), context ) );
+         if ( options.modelCache != null ) {
+            options.modelCache.parse( source, handler );
+         } else {
+            RDFParser parser = Rio.createParser( RDFFormat.TURTLE );
+            parser.setRDFHandler( handler );
+            try ( InputStream inputStream = source.openStream() ) {
+               parser.parse( inputStream, "" );
             }
          }
+         // Parsing and the rules interleave; the rule time is only known when the rules are timed one by one
+         long rulesNanos = timings.getRuleNanos().values().stream().mapToLong( Long::longValue ).sum();
+         timings.addNanos( FileTimings.Phase.RULES, rulesNanos );
+         timings.addNanos( FileTimings.Phase.PARSE, System.nanoTime() - start - rulesNanos );
+         return context;
       }
 
-      // Modify the collected statements
-      for ( Statement stmt : statementsToModify ) {
-         if ( stmt.getPredicate().stringValue().equals( foundUrn+"preferredName" ) ) {
-            Value modifiedPreferredName = RDFUtils.checkAndModifyPreferredName( stmt.getObject(), stmt );
-            model.remove( stmt );
-            model.add( stmt.getSubject(), stmt.getPredicate(), modifiedPreferredName );
-         } else if ( stmt.getPredicate().stringValue().equals( foundUrn+"description" ) ) {
-            Value modifiedDescription = RDFUtils.checkAndModifyDescription( stmt.getObject(), stmt );
-            model.remove( stmt );
-            model.add( stmt.getSubject(), stmt.getPredicate(), modifiedDescription );
+      // Parse into the backend chosen by the size of the file, everything after that works on the Model interface
+      ModelBackend.Kind kind = options.modelBackend != null ? options.modelBackend
+            : ModelBackend.choose( source.size(), options.memoryStoreBytes, options.nativeStoreBytes );
+      try ( ModelBackend backend = ModelBackend.open( kind ) ) {
+         if ( kind != ModelBackend.Kind.LINKED_HASH ) {
+            logger.info( "Using the " + kind.getId() + " model backend for " + file.getName() + " (" + source.size() + " bytes)" );
          }
+         return analyzeModel( file, source, options, vocabulary, copyrightYear, timings, deadline, backend, start );
       }
+   }
 
-      // Check required properties
+   private static RuleContext analyzeModel( File file, AspectSource source, ValidationOptions options, SammVocabulary vocabulary,
+         String copyrightYear, FileTimings timings, Deadline deadline, ModelBackend backend, long start ) throws IOException {
+      String ttlFilePath = file.getAbsolutePath();
+      Model model = backend.getModel();
+      // Read the TTL file into the model
+      RDFHandler collector = deadline.wrap( backend.newCollector() );
       try {
-         RDFUtils.checkRequiredProperties( model, logger,foundUrn );
-      } catch ( Exception e ) {
-         e.printStackTrace();
+         if ( options.modelCache != null ) {
+            // Loads the binary form of content parsed before, and stores it on the first parse
+            options.modelCache.parse( source, collector );
+         } else {
+            RDFParser parser = Rio.createParser( RDFFormat.TURTLE );
+            parser.setRDFHandler( collector );
+            try ( InputStream inputStream = source.openStream() ) {
+               parser.parse( inputStream, "" );
+            }
+         }
+      } catch ( UnsupportedRDFormatException e ) {
+         throw new ValidationFailure( ValidationFailure.Kind.PARSE_ERROR,
+               "The file format is not supported or the file is not a valid Turtle file: " + file.getName(), e );
       }
+      start = timings.add( FileTimings.Phase.PARSE, start );
+      deadline.check( "parse" );
 
-      // Validate example value for properties with primitive datatype characteristics
-      try {
-         RDFUtils.validateExampleValue( model, logger,foundUrn );
-      } catch ( Exception e ) {
-         e.printStackTrace();
+      // Run all guideline rules in a single traversal; statements to modify are collected and changed afterwards
+      RuleContext context = newRuleContext( vocabulary, model, options, timings );
+      RuleEngine.withDefaultRules( vocabulary ).run( model, context, deadline );
+      start = timings.add( FileTimings.Phase.RULES, start );
+      deadline.check( "rules" );
+
+      // Leave the file, its modification time and its backup alone when nothing would change
+      boolean headerCorrect = RDFUtils.hasCopyrightNotice( source.buffer(), copyrightYear );
+      if ( options.dryRun ) {
+         if ( !context.getReplacements().isEmpty() || !headerCorrect ) {
+            System.out.print( describeChanges( file, context.getReplacements(), !headerCorrect, copyrightYear ) );
+         }
+         return context;
       }
+      if ( context.getReplacements().isEmpty() && headerCorrect ) {
+         logger.info( "No changes, file not written: " + file.getName() );
+         return context;
+      }
+      context.applyReplacements();
+      start = timings.add( FileTimings.Phase.REWRITE, start );
+      // Not worth a backup if the time is already spent; serializing checks it again before the file is replaced
+      deadline.check( "rewrite" );
 
-      // Save the modified model back to the TTL file
-      try {
-         RDFUtils.saveModel( model, ttlFilePath );
-      } catch ( IOException e ) {
-         e.printStackTrace();
+      if ( options.backupStore != null ) {
+         // Store the original content, linked or deduplicated where possible
+         Path backup = options.backupStore.backup( source );
+         logger.info( "Backup of " + file.getName() + " stored as " + backup );
+         timings.add( FileTimings.Phase.BACKUP, start );
       }
 
-      // Check and add copyright notice if necessary
-      try {
-         RDFUtils.checkAndAddCopyrightNotice( ttlFilePath, copyrightYear );
-      } catch ( IOException e ) {
-         e.printStackTrace();
+      // Save the modified model back to the TTL file, with the copyright notice added if necessary
+      RDFUtils.saveModel( model, ttlFilePath, copyrightYear, headerCorrect, timings, deadline );
+      return context;
+   }
+
+   private static RuleContext newRuleContext( SammVocabulary vocabulary, Model model, ValidationOptions options, FileTimings timings ) {
+      RuleContext context = new RuleContext( vocabulary, model, logger );
+      context.setLiteralCache( options.literalCache );
+      context.setTimings( timings );
+      context.setWorkspace( options.workspace );
+      return context;
+   }
+
+   /**
+    * Builds the change list of a dry run: one hunk per modified statement, plus the copyright notice if it
+    * would be added. The whole list is returned as one string so files validated in parallel do not interleave.
+    *
+    * @param addNotice whether the copyright notice would be added
+    * @param copyrightYear the copyright year found in the file, null if the current year would be used
+    */
+   private static String describeChanges( File file, Map<Statement, Value> replacements, boolean addNotice, String copyrightYear ) {
+      StringBuilder changes = new StringBuilder();
+      changes.append( "--- " ).append( file.getPath() ).append( '\n' );
+      changes.append( "+++ " ).append( file.getPath() ).append( '\n' );
+      if ( addNotice ) {
+         changes.append( "@@ copyright notice @@\n" );
+         String notice = RDFUtils.copyrightNotice( copyrightYear == null ? Year.now().toString() : copyrightYear );
+         for ( String line : notice.split( "\n" ) ) {
+            changes.append( '+' ).append( line ).append( '\n' );
+         }
+      }
+      for ( Map.Entry<Statement, Value> replacement : replacements.entrySet() ) {
+         Statement statement = replacement.getKey();
+         changes.append( "@@ " ).append( NTriplesUtil.toNTriplesString( statement.getSubject() ) ).append( ' ' )
+               .append( NTriplesUtil.toNTriplesString( statement.getPredicate() ) ).append( " @@\n" );
+         changes.append( '-' ).append( NTriplesUtil.toNTriplesString( statement.getObject() ) ).append( '\n' );
+         changes.append( '+' ).append( NTriplesUtil.toNTriplesString( replacement.getValue() ) ).append( '\n' );
       }
+      return changes.toString();
    }
 }//end of ReadTTLFileRDF4J
@@ -0,0 +1,148 @@
+package com.bosch.bci.ramos;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.logging.Logger;
+
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.RDFParseException;
+import org.eclipse.rdf4j.rio.RDFParser;
+import org.eclipse.rdf4j.rio.Rio;
+
+/**
+ * Validates aspect models in-process, for applications that embed the validator instead of starting it per file.
+ * <p>
+ * Unlike the command line modes, nothing is written to disk: no backup, no log file and no rewritten Turtle. The
+ * caller gets the findings and, if asked for, a corrected copy of the model. One instance can be shared by any
+ * number of threads; every call works on its own rules and model, only the literal cache is shared.
+ */
+public final class AspectModelValidator {
+   private final LiteralTransformCache literalCache;
+   private final Logger logger;
+
+   /**
+    * Creates a validator with a literal cache of {@link LiteralTransformCache#DEFAULT_SIZE} entries.
+    */
+   public AspectModelValidator() {
+      this( new LiteralTransformCache( LiteralTransformCache.DEFAULT_SIZE ), Logger.getLogger( AspectModelValidator.class.getName() ) );
+   }
+
+   /**
+    * @param literalCache the preferredName and description fixes shared by all calls, see
+    *       {@link LiteralTransformCache#DISABLED}
+    * @param logger the logger findings are written to
+    */
+   public AspectModelValidator( LiteralTransformCache literalCache, Logger logger ) {
+      this.literalCache = literalCache;
+      this.logger = logger;
+   }
+
+   /**
+    * Validates a Turtle document. The stream is read to the end but not closed.
+    *
+    * @param input the Turtle document
+    * @param correct whether the result should carry the corrected model
+    * @return the findings, and the corrected model if requested
+    * @throws IOException if the document cannot be read, is not valid Turtle or declares no SAMM namespace
+    */
+   public ValidationResult validate( InputStream input, boolean correct ) throws IOException {
+      return validate( AspectSource.wrap( input.readAllBytes() ), "input", correct );
+   }
+
+   /**
+    * Validates an aspect model file without modifying it.
+    *
+    * @param file the aspect model file
+    * @param correct whether the result should carry the corrected model
+    * @return the findings, and the corrected model if requested
+    * @throws IOException if the file cannot be read, is not valid Turtle or declares no SAMM namespace
+    */
+   public ValidationResult validate( Path file, boolean correct ) throws IOException {
+      return validate( AspectSource.load( file ), file.getFileName().toString(), correct );
+   }
+
+   /**
+    * Validates a model that is already parsed. The model itself is never changed; fixes are applied to a copy.
+    *
+    * @param model the aspect model
+    * @param correct whether the result should carry the corrected model
+    * @return the findings, and the corrected model if requested
+    * @throws IOException if the model uses no SAMM meta-model namespace
+    */
+   public ValidationResult validate( Model model, boolean correct ) throws IOException {
+      SammMetaModelVersionExtractor.Scan versionScan = SammMetaModelVersionExtractor.scan( model );
+      String foundUrn = sammUrn( versionScan, "model" );
+      List<Finding> findings = versionFindings( versionScan, foundUrn, "model" );
+      Model target = correct ? new LinkedHashModel( model.getNamespaces(), model ) : model;
+      findings.addAll( runRules( foundUrn, target, correct ) );
+      return new ValidationResult( foundUrn, findings, correct ? target : null );
+   }
+
+   private ValidationResult validate( AspectSource source, String name, boolean correct ) throws IOException {
+      SammMetaModelVersionExtractor.Scan versionScan = SammMetaModelVersionExtractor.scan( source.buffer(), false );
+      String foundUrn = sammUrn( versionScan, name );
+      List<Finding> findings = versionFindings( versionScan, foundUrn, name );
+      try {
+         if ( !correct ) {
+            // Evaluate the rules while the statements are parsed, without building a model
+            RuleContext context = newRuleContext( foundUrn, null );
+            RDFParser parser = Rio.createParser( RDFFormat.TURTLE );
+            parser.setRDFHandler( new RuleHandler( RuleEngine.withDefaultRules( context.getVocabulary() ), context ) );
+            parser.parse( source.openStream(), "" );
+            findings.addAll( context.getFindings() );
+            return new ValidationResult( foundUrn, findings, null );
+         }
+         Model model = Rio.parse( source.openStream(), "", RDFFormat.TURTLE );
+         findings.addAll( runRules( foundUrn, model, true ) );
+         return new ValidationResult( foundUrn, findings, model );
+      } catch ( RDFParseException e ) {
+         throw new IOException( "Not a valid Turtle document: " + name + ": " + e.getMessage(), e );
+      }
+   }
+
+   private RuleContext newRuleContext( String foundUrn, Model model ) {
+      RuleContext context = new RuleContext( SammVocabulary.forUrn( foundUrn ), model, logger );
+      context.setLiteralCache( literalCache );
+      return context;
+   }
+
+   private List<Finding> runRules( String foundUrn, Model model, boolean apply ) {
+      RuleContext context = newRuleContext( foundUrn, model );
+      RuleEngine.withDefaultRules( context.getVocabulary() ).run( model, context );
+      if ( apply ) {
+         context.applyReplacements();
+      }
+      return context.getFindings();
+   }
+
+   private static String sammUrn( SammMetaModelVersionExtractor.Scan versionScan, String name ) throws IOException {
+      Optional<String> sammNamespace = versionScan.getHighestUrn();
+      if ( sammNamespace.isEmpty() ) {
+         throw new IOException( "Missing SAMM namespace in " + name );
+      }
+      return sammNamespace.get();
+   }
+
+   private List<Finding> versionFindings( SammMetaModelVersionExtractor.Scan versionScan, String foundUrn, String name ) {
+      List<Finding> findings = new ArrayList<>();
+      if ( versionScan.isMixed() ) {
+         String message = "Mixed SAMM meta-model versions " + versionScan.getUrns() + " in " + name + ", validating against " + foundUrn;
+         logger.warning( message );
+         findings.add( new Finding( null, "samm-version", Finding.Severity.WARNING, message, null, null ) );
+      }
+      return findings;
+   }
+}
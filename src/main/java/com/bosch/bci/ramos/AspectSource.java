@@ -0,0 +1,182 @@
+package com.bosch.bci.ramos;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * The content of an aspect model file, read from disk exactly once.
+ * <p>
+ * Version detection, the copyright scan, parsing and the backup copy all work on views of the same
+ * read-only buffer. Small files are read into the heap, files of at least {@link #MAPPING_THRESHOLD}
+ * bytes are memory-mapped so they are paged in on demand instead of being copied.
+ */
+public class AspectSource {
+
+   /** Files of this size or larger are memory-mapped instead of read into the heap. */
+   public static final long MAPPING_THRESHOLD = 16L * 1024 * 1024;
+
+   private final Path path;
+   private final ByteBuffer content;
+   private String contentHash;
+
+   private AspectSource( Path path, ByteBuffer content ) {
+      this.path = path;
+      this.content = content.asReadOnlyBuffer();
+   }
+
+   /**
+    * Reads (or maps) the given file.
+    *
+    * @param path the aspect model file
+    * @return the loaded source
+    * @throws IOException if the file cannot be read
+    */
+   public static AspectSource load( Path path ) throws IOException {
+      try ( FileChannel channel = FileChannel.open( path, StandardOpenOption.READ ) ) {
+         long size = channel.size();
+         if ( size >= MAPPING_THRESHOLD ) {
+            return new AspectSource( path, channel.map( FileChannel.MapMode.READ_ONLY, 0, size ) );
+         }
+         ByteBuffer buffer = ByteBuffer.allocate( (int) size );
+         while ( buffer.hasRemaining() && channel.read( buffer ) >= 0 ) {
+            // keep reading until the whole file is in the buffer
+         }
+         buffer.flip();
+         return new AspectSource( path, buffer );
+      }
+   }
+
+   /**
+    * Wraps content that is already in memory, e.g. a request body.
+    *
+    * @param content the raw UTF-8 content of an aspect model
+    * @return a source without a file
+    */
+   public static AspectSource wrap( byte[] content ) {
+      return new AspectSource( null, ByteBuffer.wrap( content ) );
+   }
+
+   /**
+    * @return the file the content was read from, or null if it was {@link #wrap wrapped}
+    */
+   public Path getPath() {
+      return path;
+   }
+
+   /**
+    * @return the size of the content in bytes
+    */
+   public int size() {
+      return content.limit();
+   }
+
+   /**
+    * @return an independent read-only view of the whole content, positioned at the start
+    */
+   public ByteBuffer buffer() {
+      return content.duplicate();
+   }
+
+   /**
+    * @return the hex encoded SHA-256 hash of the content, computed on first use
+    */
+   public synchronized String contentHash() {
+      if ( contentHash == null ) {
+         contentHash = sha256( buffer() );
+      }
+      return contentHash;
+   }
+
+   static String sha256( ByteBuffer bytes ) {
+      MessageDigest digest;
+      try {
+         digest = MessageDigest.getInstance( "SHA-256" );
+      } catch ( NoSuchAlgorithmException e ) {
+         // every Java platform is required to support SHA-256
+         throw new IllegalStateException( e );
+      }
+      digest.update( bytes );
+      StringBuilder hex = new StringBuilder( 64 );
+      for ( byte b : digest.digest() ) {
+         hex.append( Character.forDigit( ( b >> 4 ) & 0xF, 16 ) ).append( Character.forDigit( b & 0xF, 16 ) );
+      }
+      return hex.toString();
+   }
+
+   /**
+    * @return a stream over the content that does not touch the file again
+    */
+   public InputStream openStream() {
+      return new BufferInputStream( buffer() );
+   }
+
+   /**
+    * Writes the content as loaded, e.g. for a backup copy, without re-reading the source file.
+    *
+    * @param target the file to write
+    * @throws IOException if the file cannot be written
+    */
+   public void writeTo( Path target ) throws IOException {
+      try ( FileChannel channel = FileChannel.open( target, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE ) ) {
+         ByteBuffer view = buffer();
+         while ( view.hasRemaining() ) {
+            channel.write( view );
+         }
+      }
+   }
+
+   /**
+    * Minimal {@link InputStream} over a {@link ByteBuffer}.
+    */
+   private static class BufferInputStream extends InputStream {
+      private final ByteBuffer buffer;
+
+      BufferInputStream( ByteBuffer buffer ) {
+         this.buffer = buffer;
+      }
+
+      @Override
+      public int read() {
+         return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+      }
+
+      @Override
+      public int read( byte[] bytes, int offset, int length ) {
+         if ( length == 0 ) {
+            return 0;
+         }
+         if ( !buffer.hasRemaining() ) {
+            return -1;
+         }
+         int count = Math.min( length, buffer.remaining() );
+         buffer.get( bytes, offset, count );
+         return count;
+      }
+
+      @Override
+      public long skip( long n ) {
+         int count = (int) Math.max( 0, Math.min( n, buffer.remaining() ) );
+         buffer.position( buffer.position() + count );
+         return count;
+      }
+
+      @Override
+      public int available() {
+         return buffer.remaining();
+      }
+   }
+}
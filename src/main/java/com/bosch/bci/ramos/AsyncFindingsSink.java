@@ -0,0 +1,125 @@
+package com.bosch.bci.ramos;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Hands findings to other sinks on a background thread, so workers never wait for report I/O.
+ * <p>
+ * Workers only enqueue the findings of a file. The writer thread takes whatever has queued up as one batch,
+ * passes it to every delegate and flushes them once per batch. When the queue is full, workers block until
+ * the writer catches up, which bounds the memory held by pending findings.
+ */
+public class AsyncFindingsSink implements FindingsSink {
+
+   private static class Record {
+      final Path file;
+      final List<Finding> findings;
+
+      Record( Path file, List<Finding> findings ) {
+         this.file = file;
+         this.findings = findings;
+      }
+   }
+
+   private static final Record END = new Record( null, null );
+   private static final int MAX_BATCH = 1024;
+
+   private final List<FindingsSink> delegates;
+   private final BlockingQueue<Record> queue;
+   private final Thread writer;
+   private volatile IOException failure;
+
+   public AsyncFindingsSink( List<FindingsSink> delegates, int capacity ) {
+      this.delegates = List.copyOf( delegates );
+      this.queue = new ArrayBlockingQueue<>( capacity );
+      this.writer = new Thread( this::writeLoop, "findings-writer" );
+      this.writer.setDaemon( true );
+      this.writer.start();
+   }
+
+   @Override
+   public void accept( Path file, List<Finding> findings ) throws IOException {
+      if ( failure != null ) {
+         throw failure;
+      }
+      try {
+         queue.put( new Record( file, findings ) );
+      } catch ( InterruptedException e ) {
+         Thread.currentThread().interrupt();
+         throw new IOException( "Interrupted while queuing findings of " + file, e );
+      }
+   }
+
+   private void writeLoop() {
+      List<Record> batch = new ArrayList<>( MAX_BATCH );
+      boolean done = false;
+      while ( !done ) {
+         try {
+            batch.add( queue.take() );
+         } catch ( InterruptedException e ) {
+            return;
+         }
+         queue.drainTo( batch, MAX_BATCH - 1 );
+         // Every record is taken even after a failure, so workers never block on a full queue and END is seen
+         for ( Record record : batch ) {
+            if ( record == END ) {
+               done = true;
+               break;
+            }
+            for ( FindingsSink delegate : delegates ) {
+               try {
+                  delegate.accept( record.file, record.findings );
+               } catch ( IOException | RuntimeException e ) {
+                  fail( e );
+               }
+            }
+         }
+         for ( FindingsSink delegate : delegates ) {
+            try {
+               delegate.flush();
+            } catch ( IOException | RuntimeException e ) {
+               fail( e );
+            }
+         }
+         batch.clear();
+      }
+   }
+
+   // Keeps the first failure, reported to the workers by accept and to the caller of close
+   private void fail( Exception e ) {
+      if ( failure == null ) {
+         failure = e instanceof IOException ? (IOException) e : new IOException( "Writing findings failed: " + e, e );
+      }
+   }
+
+   /**
+    * Writes everything still queued and closes the delegates.
+    */
+   @Override
+   public void close() throws IOException {
+      try {
+         queue.put( END );
+         writer.join();
+      } catch ( InterruptedException e ) {
+         Thread.currentThread().interrupt();
+      }
+      for ( FindingsSink delegate : delegates ) {
+         delegate.close();
+      }
+      if ( failure != null ) {
+         throw failure;
+      }
+   }
+}
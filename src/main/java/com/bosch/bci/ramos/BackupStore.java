@@ -0,0 +1,294 @@
+package com.bosch.bci.ramos;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Backups of the aspect files a run modifies, kept in one directory instead of a <name>_original.ttl copy next
+ * to every file.
+ * <p>
+ * The content is stored once under its SHA-256 in {@code objects}, so files with the same content and files
+ * backed up again by later runs take no extra space. A new object is hard-linked to the original file where the
+ * file system allows it, which costs no write at all. The link is only shared until the modified aspect is
+ * written, since that goes to a temporary file replacing the original, after which the object is the only name of
+ * the old content. Should that write fail and the original be edited in place afterwards, the object changes with
+ * it: an object of the wrong size is stored again, and {@link #restore} verifies the hash of every object. Each
+ * run records which file had which content in a manifest under {@code batches}, named by the batch id, and
+ * {@link #restore} puts a whole batch back. Only files that are actually about to be modified are backed up; a
+ * run that modifies nothing leaves no batch behind.
+ */
+public class BackupStore {
+   private static final Logger logger = Logger.getLogger( BackupStore.class.getName() );
+
+   /** The backup directory used when none is given on the command line. */
+   public static final Path DEFAULT_DIRECTORY = Paths.get( System.getProperty( "user.home" ), ".aspectvalidator", "backups" );
+
+   /** Batch name that {@link #restore} resolves to the most recent batch. */
+   public static final String LATEST = "latest";
+
+   private static final String OBJECT_SUFFIX = ".ttl";
+   private static final String MANIFEST_SUFFIX = ".tsv";
+   private static final DateTimeFormatter BATCH_FORMAT = DateTimeFormatter.ofPattern( "yyyyMMdd-HHmmss-SSS" );
+
+   private final Path objects;
+   private final Path batches;
+   private final String batchId;
+   private BufferedWriter manifest;
+   private int files;
+   private int stored;
+
+   /**
+    * Opens the store for a new batch. The batch manifest is only created with the first backup.
+    *
+    * @param directory the backup directory, created if missing
+    * @throws IOException if the directory cannot be created
+    */
+   public BackupStore( Path directory ) throws IOException {
+      this.objects = directory.resolve( "objects" );
+      this.batches = directory.resolve( "batches" );
+      // The process id keeps two runs started in the same millisecond apart
+      this.batchId = LocalDateTime.now().format( BATCH_FORMAT ) + "-" + ProcessHandle.current().pid();
+      Files.createDirectories( objects );
+      Files.createDirectories( batches );
+   }
+
+   /**
+    * @return the id of the batch this store records, as accepted by {@link #restore}
+    */
+   public String getBatchId() {
+      return batchId;
+   }
+
+   /**
+    * @return the number of files backed up in this batch
+    */
+   public synchronized int getFiles() {
+      return files;
+   }
+
+   /**
+    * Stores the content of a file before it is modified and records it in the batch manifest.
+    *
+    * @param source the content of the file as loaded
+    * @return the stored object
+    * @throws IOException if the content cannot be stored or the manifest cannot be written
+    */
+   public Path backup( AspectSource source ) throws IOException {
+      String hash = source.contentHash();
+      Path object = objectFile( hash );
+      boolean created = false;
+      if ( !isStored( object, source.size() ) ) {
+         Files.createDirectories( object.getParent() );
+         created = link( source.getPath(), object ) || copy( source, object );
+      }
+      record( hash, source.getPath().toAbsolutePath().normalize(), created );
+      return object;
+   }
+
+   // The store never writes an object in place, so one of another size changed together with its original
+   private static boolean isStored( Path object, int size ) throws IOException {
+      if ( !Files.isRegularFile( object ) ) {
+         return false;
+      }
+      if ( Files.size( object ) == size ) {
+         return true;
+      }
+      logger.warning( "Backup object " + object.getFileName() + " was changed through its original, storing it again" );
+      Files.deleteIfExists( object );
+      return false;
+   }
+
+   // Hard link to the original file, false if the file system cannot link it
+   private static boolean link( Path file, Path object ) throws IOException {
+      try {
+         Files.createLink( object, file );
+         return true;
+      } catch ( FileAlreadyExistsException e ) {
+         // stored by another worker meanwhile, with the same content
+         return false;
+      } catch ( IOException | UnsupportedOperationException | SecurityException e ) {
+         // e.g. the store is on another file system
+         logger.fine( "Cannot hard-link " + file + " into the backup store, copying it: " + e.getMessage() );
+         return false;
+      }
+   }
+
+   private static boolean copy( AspectSource source, Path object ) throws IOException {
+      if ( Files.exists( object ) ) {
+         return false;
+      }
+      Path temp = Files.createTempFile( object.getParent(), object.getFileName().toString(), ".tmp" );
+      try {
+         source.writeTo( temp );
+         move( temp, object );
+      } finally {
+         Files.deleteIfExists( temp );
+      }
+      return true;
+   }
+
+   private synchronized void record( String hash, Path file, boolean created ) throws IOException {
+      if ( manifest == null ) {
+         manifest = Files.newBufferedWriter( batches.resolve( batchId + MANIFEST_SUFFIX ), StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+               StandardOpenOption.APPEND );
+      }
+      manifest.write( hash + '\t' + file + '\n' );
+      // Flushed per file, so a killed run can still be restored up to the last file it modified
+      manifest.flush();
+      files++;
+      if ( created ) {
+         stored++;
+      }
+   }
+
+   /**
+    * Closes the batch manifest and reports how many backups needed new objects.
+    */
+   public synchronized void close() throws IOException {
+      if ( manifest != null ) {
+         manifest.close();
+         manifest = null;
+         logger.info( "Backed up " + files + " files in batch " + batchId + ", " + ( files - stored ) + " of them already stored" );
+      }
+   }
+
+   /**
+    * @return the ids of the recorded batches, oldest first
+    * @throws IOException if the batch directory cannot be listed
+    */
+   public List<String> listBatches() throws IOException {
+      try ( Stream<Path> list = Files.list( batches ) ) {
+         return list.map( path -> path.getFileName().toString() ).filter( name -> name.endsWith( MANIFEST_SUFFIX ) )
+               .map( name -> name.substring( 0, name.length() - MANIFEST_SUFFIX.length() ) ).sorted().collect( Collectors.toList() );
+      }
+   }
+
+   /**
+    * The outcome of restoring a batch.
+    */
+   public static class RestoreReport {
+      public final int restored;
+      public final int unchanged;
+      public final Map<Path, String> failed;
+
+      RestoreReport( int restored, int unchanged, Map<Path, String> failed ) {
+         this.restored = restored;
+         this.unchanged = unchanged;
+         this.failed = failed;
+      }
+   }
+
+   /**
+    * Puts every file of a batch back to the content it had before the batch modified it. Files that already have
+    * that content are left untouched; restored files are written next to the target and moved into place.
+    *
+    * @param batch a batch id or {@link #LATEST}
+    * @return what was restored
+    * @throws IOException if the batch does not exist or its manifest cannot be read
+    */
+   public RestoreReport restore( String batch ) throws IOException {
+      String id = batch;
+      if ( LATEST.equals( batch ) ) {
+         List<String> all = listBatches();
+         if ( all.isEmpty() ) {
+            throw new IOException( "No backup batches in " + batches );
+         }
+         id = all.get( all.size() - 1 );
+      }
+      Path manifestFile = batches.resolve( id + MANIFEST_SUFFIX );
+      if ( !Files.isRegularFile( manifestFile ) ) {
+         throw new IOException( "No backup batch " + id + " in " + batches );
+      }
+
+      // A file modified more than once in a batch (e.g. in watch mode) goes back to its first recorded content
+      Map<Path, String> contents = new LinkedHashMap<>();
+      for ( String line : Files.readAllLines( manifestFile, StandardCharsets.UTF_8 ) ) {
+         int separator = line.indexOf( '\t' );
+         if ( separator > 0 ) {
+            contents.putIfAbsent( Paths.get( line.substring( separator + 1 ) ), line.substring( 0, separator ) );
+         }
+      }
+
+      int restored = 0;
+      int unchanged = 0;
+      Map<Path, String> failed = new LinkedHashMap<>();
+      for ( Map.Entry<Path, String> entry : contents.entrySet() ) {
+         Path file = entry.getKey();
+         try {
+            if ( restore( file, entry.getValue() ) ) {
+               restored++;
+            } else {
+               unchanged++;
+            }
+         } catch ( IOException e ) {
+            failed.put( file, e.getMessage() );
+         }
+      }
+      logger.info( "Restored batch " + id + ": " + restored + " files restored, " + unchanged + " unchanged, " + failed.size() + " failed" );
+      return new RestoreReport( restored, unchanged, failed );
+   }
+
+   // false if the file already has the content
+   private boolean restore( Path file, String hash ) throws IOException {
+      Path object = objectFile( hash );
+      if ( !Files.isRegularFile( object ) ) {
+         throw new IOException( "Backup object " + hash + " is missing" );
+      }
+      AspectSource backup = AspectSource.load( object );
+      // A linked object whose original was edited in place before it was replaced has changed with it
+      if ( !backup.contentHash().equals( hash ) ) {
+         throw new IOException( "Backup object " + hash + " no longer has its original content" );
+      }
+      if ( Files.isRegularFile( file ) && AspectSource.load( file ).contentHash().equals( hash ) ) {
+         return false;
+      }
+      Path directory = file.toAbsolutePath().getParent();
+      Files.createDirectories( directory );
+      // Copied, never linked, so editing the restored file cannot change the backup
+      Path temp = Files.createTempFile( directory, "." + file.getFileName(), ".tmp" );
+      try {
+         backup.writeTo( temp );
+         move( temp, file );
+      } finally {
+         Files.deleteIfExists( temp );
+      }
+      return true;
+   }
+
+   private Path objectFile( String hash ) {
+      // Two-level layout keeps directories small for large repositories
+      return objects.resolve( hash.substring( 0, 2 ) ).resolve( hash + OBJECT_SUFFIX );
+   }
+
+   // Atomic where the file system supports it, the target is replaced either way
+   static void move( Path source, Path target ) throws IOException {
+      try {
+         Files.move( source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+      } catch ( AtomicMoveNotSupportedException e ) {
+         Files.move( source, target, StandardCopyOption.REPLACE_EXISTING );
+      }
+   }
+}
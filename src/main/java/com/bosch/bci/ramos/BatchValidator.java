@@ -0,0 +1,696 @@
+package com.bosch.bci.ramos;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Headless command line mode of the validator.
+ * <p>
+ * Directory trees are walked in parallel and every .ttl file found is validated on a fixed pool of
+ * worker threads, so batches on build agents use all available cores instead of the Swing loop.
+ */
+public class BatchValidator {
+   private static final Logger logger = Logger.getLogger( BatchValidator.class.getName() );
+
+   /** Exit code when every file was validated without findings. */
+   public static final int EXIT_OK = 0;
+   /** Exit code when at least one file has guideline violations. */
+   public static final int EXIT_VIOLATIONS = 1;
+   /** Exit code for invalid arguments or files that could not be validated. */
+   public static final int EXIT_ERROR = 2;
+
+   // How long stopping watch mode may take to write the reports before the JVM exits anyway
+   private static final long SHUTDOWN_TIMEOUT_SECONDS = 60;
+
+   private static final String USAGE =
+         "Usage: java -jar AspectValidator-uber.jar [options] <path|glob>...\n" +
+         "  -t, --threads <n>   number of worker threads (default: available processors)\n" +
+         "  -b, --backup        store the content of every file it modifies in " + BackupStore.DEFAULT_DIRECTORY + ",\n" +
+         "                      deduplicated by content, as one batch per run\n" +
+         "      --backup-dir <d> like --backup, with the backups in the given directory\n" +
+         "      --restore <batch> put every file of a backup batch (or 'latest') back to its content before that run\n" +
+         "      --list-backups  print the ids of the stored backup batches, oldest first\n" +
+         "      --max-file-mb <n> fail files larger than n MiB without reading them (default: " + ValidationOptions.DEFAULT_MAX_FILE_BYTES / ( 1024 * 1024 ) + ", 0 disables)\n" +
+         "      --file-timeout <s> cancel a file still running after s seconds, it fails and the batch goes on (default: "
+         + ValidationOptions.DEFAULT_FILE_TIMEOUT.toSeconds() + ", 0 disables)\n" +
+         "      --model-backend <b> parse every file into linked-hash, memory or native instead of choosing by size\n" +
+         "      --memory-store-mb <n> parse files of n MiB and more into a MemoryStore (default: " + ModelBackend.DEFAULT_MEMORY_STORE_BYTES / ( 1024 * 1024 ) + ")\n" +
+         "      --native-store-mb <n> parse files of n MiB and more into a temporary NativeStore on disk (default: 1/32 of\n" +
+         "                      the maximum heap, at most half of the default --max-file-mb, here "
+         + ModelBackend.DEFAULT_NATIVE_STORE_BYTES / ( 1024 * 1024 ) + ")\n" +
+         "      --full-scan     scan whole files for SAMM versions instead of only the prefix header\n" +
+         "  -n, --dry-run       print the changes as a patch-like list instead of writing files or backups\n" +
+         "      --report-only   stream files through the rules without building a model or writing anything\n" +
+         "      --cache         skip files whose content was validated before, using " + ResultCache.DEFAULT_DIRECTORY + "\n" +
+         "      --cache-dir <d> like --cache, with the cache in the given directory\n" +
+         "      --model-cache   keep parsed models in binary form in " + ModelCache.DEFAULT_DIRECTORY + " and load them instead of\n" +
+         "                      parsing unchanged Turtle again\n" +
+         "      --model-cache-dir <d> like --model-cache, with the cache in the given directory\n" +
+         "      --model-cache-max-mb <n> evict the least recently used models beyond n MiB (default: " + ModelCache.DEFAULT_MAX_BYTES / ( 1024 * 1024 ) + ")\n" +
+         "      --model-cache-max-days <n> evict models unused for n days (default: " + ModelCache.DEFAULT_MAX_AGE.toDays() + ")\n" +
+         "      --literal-cache <n> number of preferredName/description fixes memoized across files (default: " + LiteralTransformCache.DEFAULT_SIZE + ", 0 disables)\n" +
+         "      --findings <f>  write every finding to f as JSON Lines, or as SARIF if f ends in .sarif or .sarif.json\n" +
+         "      --file-logs     write the findings of each file to <name>_logs.txt next to it\n" +
+         "      --metrics <f>   write the time of every phase and rule, p50/p99 latencies and the slowest files to f as JSON\n" +
+         "      --jmx           publish the same metrics as the MBean " + ValidationMetrics.OBJECT_NAME + "\n" +
+         "      --workspace     index every aspect file below the given paths first, so references to characteristics\n" +
+         "                      defined in other files of the same namespace are resolved\n" +
+         "  -w, --watch         keep running and re-validate .ttl files in the given directories when they change\n" +
+         "      --debounce <ms> quiet time after the last change of a file before it is re-validated (default: 300)\n" +
+         "      --serve [<host>:]<port> serve POST /validate over HTTP instead of validating paths; at most --threads\n" +
+         "                      validations run at a time, host defaults to 127.0.0.1; findings are only returned in\n" +
+         "                      the responses, so --findings, --file-logs and the caches cannot be used with it\n" +
+         "      --max-request <bytes> largest request body accepted by --serve (default: " + ValidationServer.DEFAULT_MAX_REQUEST_BYTES + ")\n" +
+         "  -h, --help          print this help\n" +
+         "Paths may be files, directories (walked recursively) or globs such as 'models/**/*.ttl'.";
+
+   /**
+    * Command line options of a batch run.
+    */
+   static class Options {
+      int threads = Runtime.getRuntime().availableProcessors();
+      final ValidationOptions validation = new ValidationOptions();
+      Path cacheDirectory = null;
+      Path backupDirectory = null;
+      String restoreBatch = null;
+      boolean listBackups = false;
+      Path modelCacheDirectory = null;
+      long modelCacheMaxBytes = ModelCache.DEFAULT_MAX_BYTES;
+      Duration modelCacheMaxAge = ModelCache.DEFAULT_MAX_AGE;
+      boolean watch = false;
+      boolean workspace = false;
+      Path findingsFile = null;
+      Path metricsFile = null;
+      boolean jmx = false;
+      boolean fileLogs = false;
+      long debounceMillis = 300;
+      InetSocketAddress serveAddress = null;
+      long maxRequestBytes = ValidationServer.DEFAULT_MAX_REQUEST_BYTES;
+      final List<String> inputs = new ArrayList<>();
+
+      static Options parse( String[] args ) {
+         Options options = new Options();
+         for ( int i = 0; i < args.length; i++ ) {
+            String arg = args[i];
+            switch ( arg ) {
+               case "-t":
+               case "--threads":
+                  options.threads = Integer.parseInt( value( args, ++i, arg ) );
+                  if ( options.threads < 1 ) {
+                     throw new IllegalArgumentException( "The number of threads must be at least 1" );
+                  }
+                  break;
+               case "-b":
+               case "--backup":
+                  options.backupDirectory = BackupStore.DEFAULT_DIRECTORY;
+                  break;
+               case "--backup-dir":
+                  options.backupDirectory = Paths.get( value( args, ++i, arg ) );
+                  break;
+               case "--restore":
+                  options.restoreBatch = value( args, ++i, arg );
+                  break;
+               case "--list-backups":
+                  options.listBackups = true;
+                  break;
+               case "--max-file-mb":
+                  options.validation.maxFileBytes = Long.parseLong( value( args, ++i, arg ) ) * 1024 * 1024;
+                  break;
+               case "--file-timeout":
+                  options.validation.fileTimeout = Duration.ofSeconds( Long.parseLong( value( args, ++i, arg ) ) );
+                  break;
+               case "--model-backend":
+                  options.validation.modelBackend = ModelBackend.Kind.of( value( args, ++i, arg ) );
+                  break;
+               case "--memory-store-mb":
+                  options.validation.memoryStoreBytes = Long.parseLong( value( args, ++i, arg ) ) * 1024 * 1024;
+                  break;
+               case "--native-store-mb":
+                  options.validation.nativeStoreBytes = Long.parseLong( value( args, ++i, arg ) ) * 1024 * 1024;
+                  break;
+               case "--full-scan":
+                  options.validation.fullVersionScan = true;
+                  break;
+               case "-n":
+               case "--dry-run":
+                  options.validation.dryRun = true;
+                  break;
+               case "--report-only":
+                  options.validation.reportOnly = true;
+                  break;
+               case "-w":
+               case "--watch":
+                  options.watch = true;
+                  break;
+               case "--workspace":
+                  options.workspace = true;
+                  break;
+               case "--debounce":
+                  options.debounceMillis = Long.parseLong( value( args, ++i, arg ) );
+                  break;
+               case "--literal-cache":
+                  options.validation.literalCache = new LiteralTransformCache( Integer.parseInt( value( args, ++i, arg ) ) );
+                  break;
+               case "--findings":
+                  options.findingsFile = Paths.get( value( args, ++i, arg ) );
+                  break;
+               case "--metrics":
+                  options.metricsFile = Paths.get( value( args, ++i, arg ) );
+                  break;
+               case "--jmx":
+                  options.jmx = true;
+                  break;
+               case "--file-logs":
+                  options.fileLogs = true;
+                  break;
+               case "--serve":
+                  options.serveAddress = address( value( args, ++i, arg ) );
+                  break;
+               case "--max-request":
+                  options.maxRequestBytes = Long.parseLong( value( args, ++i, arg ) );
+                  break;
+               case "--cache":
+                  options.cacheDirectory = ResultCache.DEFAULT_DIRECTORY;
+                  break;
+               case "--cache-dir":
+                  options.cacheDirectory = Paths.get( value( args, ++i, arg ) );
+                  break;
+               case "--model-cache":
+                  options.modelCacheDirectory = ModelCache.DEFAULT_DIRECTORY;
+                  break;
+               case "--model-cache-dir":
+                  options.modelCacheDirectory = Paths.get( value( args, ++i, arg ) );
+                  break;
+               case "--model-cache-max-mb":
+                  options.modelCacheMaxBytes = Long.parseLong( value( args, ++i, arg ) ) * 1024 * 1024;
+                  break;
+               case "--model-cache-max-days":
+                  options.modelCacheMaxAge = Duration.ofDays( Long.parseLong( value( args, ++i, arg ) ) );
+                  break;
+               default:
+                  if ( arg.startsWith( "-" ) ) {
+                     throw new IllegalArgumentException( "Unknown option: " + arg );
+                  }
+                  options.inputs.add( arg );
+            }
+         }
+         if ( options.inputs.isEmpty() && options.serveAddress == null && options.restoreBatch == null && !options.listBackups ) {
+            throw new IllegalArgumentException( "No input path given" );
+         }
+         if ( options.workspace && ( options.watch || options.serveAddress != null ) ) {
+            // The index is built once and never updated, changed files would be resolved against stale content
+            throw new IllegalArgumentException( "--workspace cannot be combined with --watch or --serve" );
+         }
+         if ( options.serveAddress != null && ( options.findingsFile != null || options.fileLogs || options.cacheDirectory != null
+               || options.modelCacheDirectory != null ) ) {
+            // The server answers each request with its findings and never uses the sinks or the caches
+            throw new IllegalArgumentException( "--findings, --file-logs, --cache and --model-cache cannot be combined with --serve" );
+         }
+         return options;
+      }
+
+      private static InetSocketAddress address( String value ) {
+         int separator = value.lastIndexOf( ':' );
+         String host = separator < 0 ? "127.0.0.1" : value.substring( 0, separator );
+         return new InetSocketAddress( host, Integer.parseInt( value.substring( separator + 1 ) ) );
+      }
+
+      private static String value( String[] args, int index, String option ) {
+         if ( index >= args.length ) {
+            throw new IllegalArgumentException( "Missing value for " + option );
+         }
+         return args[index];
+      }
+   }
+
+   /**
+    * Outcome of validating a single file.
+    */
+   static class FileReport {
+      final Path file;
+      final int findings;
+      final ValidationFailure failure;
+
+      FileReport( Path file, int findings, ValidationFailure failure ) {
+         this.file = file;
+         this.findings = findings;
+         this.failure = failure;
+      }
+
+      boolean failed() {
+         return failure != null;
+      }
+   }
+
+   /**
+    * Runs a batch validation.
+    *
+    * @param args the command line arguments
+    * @return the process exit code
+    */
+   public static int run( String[] args ) {
+      for ( String arg : args ) {
+         if ( arg.equals( "-h" ) || arg.equals( "--help" ) ) {
+            System.out.println( USAGE );
+            return EXIT_OK;
+         }
+      }
+      Options options;
+      try {
+         options = Options.parse( args );
+      } catch ( IllegalArgumentException e ) {
+         System.err.println( e.getMessage() );
+         System.err.println( USAGE );
+         return EXIT_ERROR;
+      }
+      if ( options.restoreBatch != null || options.listBackups ) {
+         return restore( options );
+      }
+      if ( options.cacheDirectory != null ) {
+         try {
+            options.validation.resultCache = new ResultCache( options.cacheDirectory );
+         } catch ( IOException e ) {
+            System.err.println( "Cannot use cache directory " + options.cacheDirectory + ": " + e.getMessage() );
+            return EXIT_ERROR;
+         }
+      }
+      if ( options.modelCacheDirectory != null ) {
+         try {
+            options.validation.modelCache = new ModelCache( options.modelCacheDirectory, options.modelCacheMaxBytes, options.modelCacheMaxAge );
+         } catch ( IOException e ) {
+            System.err.println( "Cannot use model cache directory " + options.modelCacheDirectory + ": " + e.getMessage() );
+            return EXIT_ERROR;
+         }
+      }
+      if ( options.metricsFile != null || options.jmx ) {
+         options.validation.metrics = new ValidationMetrics();
+         if ( options.jmx ) {
+            options.validation.metrics.register();
+         }
+      }
+      List<FindingsSink> sinks = new ArrayList<>();
+      try {
+         if ( options.findingsFile != null ) {
+            String name = options.findingsFile.getFileName().toString();
+            sinks.add( name.endsWith( ".sarif" ) || name.endsWith( ".sarif.json" )
+                  ? new SarifFindingsSink( options.findingsFile )
+                  : new JsonLinesFindingsSink( options.findingsFile ) );
+         }
+      } catch ( IOException e ) {
+         System.err.println( "Cannot write findings to " + options.findingsFile + ": " + e.getMessage() );
+         return EXIT_ERROR;
+      }
+      if ( options.fileLogs ) {
+         sinks.add( new FileLogFindingsSink() );
+      }
+      AsyncFindingsSink findingsSink = null;
+      if ( !sinks.isEmpty() ) {
+         findingsSink = new AsyncFindingsSink( sinks, 4096 );
+         options.validation.findingsSink = findingsSink;
+      }
+      if ( options.serveAddress != null ) {
+         return serve( options );
+      }
+      if ( options.backupDirectory != null ) {
+         try {
+            options.validation.backupStore = new BackupStore( options.backupDirectory );
+         } catch ( IOException e ) {
+            System.err.println( "Cannot use backup directory " + options.backupDirectory + ": " + e.getMessage() );
+            return EXIT_ERROR;
+         }
+      }
+      if ( options.watch ) {
+         return watchUntilStopped( options, findingsSink );
+      }
+      return finish( options, findingsSink, run( options ) );
+   }
+
+   /**
+    * Watch mode only ends when the JVM shuts down, e.g. on Ctrl+C. A shutdown hook stops the watch and waits
+    * until the reports of the run are closed, since the JVM halts as soon as the hooks are done.
+    */
+   private static int watchUntilStopped( Options options, AsyncFindingsSink findingsSink ) {
+      Thread watcher = Thread.currentThread();
+      CountDownLatch finished = new CountDownLatch( 1 );
+      Thread hook = new Thread( () -> {
+         watcher.interrupt();
+         try {
+            finished.await( SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS );
+         } catch ( InterruptedException e ) {
+            Thread.currentThread().interrupt();
+         }
+      }, "watch-shutdown" );
+      Runtime.getRuntime().addShutdownHook( hook );
+      try {
+         int exitCode = watch( options );
+         // The interrupt that stopped the watch must not cut short writing the reports
+         Thread.interrupted();
+         return finish( options, findingsSink, exitCode );
+      } finally {
+         finished.countDown();
+         try {
+            Runtime.getRuntime().removeShutdownHook( hook );
+         } catch ( IllegalStateException e ) {
+            // the JVM is already shutting down, the hook is running
+         }
+      }
+   }
+
+   /**
+    * Closes the backup batch, the findings reports and writes the metrics, after the validation is done.
+    *
+    * @return the exit code of the validation, or {@link #EXIT_ERROR} if a report could not be written
+    */
+   private static int finish( Options options, AsyncFindingsSink findingsSink, int validationExitCode ) {
+      int exitCode = validationExitCode;
+      BackupStore backupStore = options.validation.backupStore;
+      if ( backupStore != null ) {
+         try {
+            backupStore.close();
+            if ( backupStore.getFiles() > 0 ) {
+               System.out.println( "Backed up " + backupStore.getFiles() + " modified files as batch " + backupStore.getBatchId()
+                     + ", undo with --restore " + backupStore.getBatchId() );
+            }
+         } catch ( IOException e ) {
+            System.err.println( "Cannot write backup batch " + backupStore.getBatchId() + ": " + e.getMessage() );
+            exitCode = EXIT_ERROR;
+         }
+      }
+      if ( findingsSink != null ) {
+         try {
+            findingsSink.close();
+         } catch ( IOException e ) {
+            System.err.println( "Writing findings failed: " + e.getMessage() );
+            exitCode = EXIT_ERROR;
+         }
+      }
+      if ( options.metricsFile != null ) {
+         try {
+            options.validation.metrics.writeSummary( options.metricsFile );
+         } catch ( IOException e ) {
+            System.err.println( "Cannot write metrics to " + options.metricsFile + ": " + e.getMessage() );
+            exitCode = EXIT_ERROR;
+         }
+      }
+      return exitCode;
+   }
+
+   private static int restore( Options options ) {
+      Path directory = options.backupDirectory != null ? options.backupDirectory : BackupStore.DEFAULT_DIRECTORY;
+      try {
+         BackupStore store = new BackupStore( directory );
+         if ( options.listBackups ) {
+            store.listBatches().forEach( System.out::println );
+         }
+         if ( options.restoreBatch == null ) {
+            return EXIT_OK;
+         }
+         BackupStore.RestoreReport report = store.restore( options.restoreBatch );
+         report.failed.forEach( ( file, error ) -> System.err.println( "FAILED " + file + ": " + error ) );
+         System.out.println( "Restored " + report.restored + " files, " + report.unchanged + " already unchanged, " + report.failed.size() + " failed." );
+         return report.failed.isEmpty() ? EXIT_OK : EXIT_ERROR;
+      } catch ( IOException e ) {
+         System.err.println( "Cannot restore from " + directory + ": " + e.getMessage() );
+         return EXIT_ERROR;
+      }
+   }
+
+   private static int serve( Options options ) {
+      AspectModelValidator validator = new AspectModelValidator( options.validation.literalCache,
+            Logger.getLogger( AspectModelValidator.class.getName() ) );
+      ValidationServer server = new ValidationServer( validator, options.threads, options.maxRequestBytes );
+      try {
+         InetSocketAddress address = server.start( options.serveAddress );
+         System.out.println( "Serving POST http://" + address.getHostString() + ":" + address.getPort() + "/validate, stop with Ctrl+C" );
+      } catch ( IOException e ) {
+         System.err.println( "Cannot listen on " + options.serveAddress + ": " + e.getMessage() );
+         return EXIT_ERROR;
+      }
+      Runtime.getRuntime().addShutdownHook( new Thread( () -> server.stop( 1 ) ) );
+      try {
+         Thread.currentThread().join();
+      } catch ( InterruptedException e ) {
+         Thread.currentThread().interrupt();
+      }
+      return EXIT_OK;
+   }
+
+   private static int watch( Options options ) {
+      List<Path> roots = new ArrayList<>();
+      for ( String input : options.inputs ) {
+         Path root = Paths.get( input );
+         if ( !Files.isDirectory( root ) ) {
+            System.err.println( "Watch mode needs directories, not a directory: " + input );
+            return EXIT_ERROR;
+         }
+         roots.add( root );
+      }
+      try {
+         new WatchValidator( options.validation, options.threads, options.debounceMillis ).watch( roots );
+         return EXIT_OK;
+      } catch ( IOException e ) {
+         System.err.println( "Cannot watch " + roots + ": " + e.getMessage() );
+         return EXIT_ERROR;
+      }
+   }
+
+   static int run( Options options ) {
+      long start = System.nanoTime();
+      ExecutorService workers = Executors.newFixedThreadPool( options.threads );
+      ForkJoinPool walkers = new ForkJoinPool( options.threads );
+      Queue<Future<FileReport>> pending = new ConcurrentLinkedQueue<>();
+      int exitCode = EXIT_OK;
+      try {
+         if ( options.workspace ) {
+            List<Path> roots = new ArrayList<>();
+            for ( String input : options.inputs ) {
+               roots.add( isGlob( input ) ? globRoot( input ) : Paths.get( input ) );
+            }
+            try {
+               options.validation.workspace = WorkspaceIndex.build( roots, options.threads );
+            } catch ( IOException e ) {
+               System.err.println( "Cannot index the workspace " + roots + ": " + e.getMessage() );
+               return EXIT_ERROR;
+            }
+         }
+         for ( String input : options.inputs ) {
+            if ( !submitInput( input, options, walkers, workers, pending ) ) {
+               exitCode = EXIT_ERROR;
+            }
+         }
+
+         int files = 0;
+         int filesWithFindings = 0;
+         int failures = 0;
+         Map<ValidationFailure.Kind, Integer> failuresByKind = new EnumMap<>( ValidationFailure.Kind.class );
+         long findings = 0;
+         for ( Future<FileReport> future : pending ) {
+            FileReport report;
+            try {
+               report = future.get();
+            } catch ( ExecutionException e ) {
+               // validate() never throws, anything arriving here is a bug worth surfacing
+               throw new IllegalStateException( e.getCause() );
+            }
+            files++;
+            if ( report.failed() ) {
+               failures++;
+               failuresByKind.merge( report.failure.getKind(), 1, Integer::sum );
+               System.err.println( "FAILED " + report.file + " [" + report.failure.getKind().getId() + "]: " + report.failure.getMessage() );
+            } else if ( report.findings > 0 ) {
+               filesWithFindings++;
+               findings += report.findings;
+            }
+         }
+
+         double seconds = ( System.nanoTime() - start ) / 1_000_000_000.0;
+         System.out.printf( "Validated %d files in %.2f s (%.1f files/s) on %d threads: %d with findings (%d findings), %d failed.%n",
+               files, seconds, seconds > 0 ? files / seconds : files, options.threads, filesWithFindings, findings, failures );
+         if ( failures > 0 ) {
+            StringBuilder kinds = new StringBuilder( "Failures:" );
+            failuresByKind.forEach( ( kind, count ) -> kinds.append( ' ' ).append( kind.getId() ).append( ' ' ).append( count ) );
+            System.out.println( kinds );
+         }
+         System.out.println( "Literal cache: " + options.validation.literalCache );
+         ValidationMetrics metrics = options.validation.metrics;
+         if ( metrics != null ) {
+            System.out.printf( "Latency per file: p50 %.1f ms, p99 %.1f ms, max %.1f ms%n", metrics.getP50Millis(), metrics.getP99Millis(),
+                  metrics.getMaxMillis() );
+         }
+
+         if ( failures > 0 ) {
+            exitCode = EXIT_ERROR;
+         } else if ( filesWithFindings > 0 && exitCode == EXIT_OK ) {
+            exitCode = EXIT_VIOLATIONS;
+         }
+      } catch ( InterruptedException e ) {
+         Thread.currentThread().interrupt();
+         exitCode = EXIT_ERROR;
+      } finally {
+         walkers.shutdown();
+         workers.shutdown();
+      }
+      return exitCode;
+   }
+
+   /**
+    * Resolves one command line input (file, directory or glob) and submits the matching files.
+    *
+    * @return false if the input does not exist or matches no aspect file
+    */
+   private static boolean submitInput( String input, Options options, ForkJoinPool walkers, ExecutorService workers,
+         Queue<Future<FileReport>> pending ) {
+      PathMatcher matcher = null;
+      Path root = Paths.get( input );
+      if ( isGlob( input ) ) {
+         String glob = input.replace( '\\', '/' );
+         String prefix = globPrefix( glob );
+         root = globRoot( input );
+         // Matched relative to the walked directory, whose paths need not start like the glob, e.g. "./a.ttl" for "*.ttl"
+         String pattern = glob.substring( prefix.length() );
+         PathMatcher relative = FileSystems.getDefault().getPathMatcher( "glob:" + pattern );
+         // "**/" needs at least one directory, but "models/**/*.ttl" is meant to include the files directly in models
+         PathMatcher topLevel = pattern.startsWith( "**/" ) ? FileSystems.getDefault().getPathMatcher( "glob:" + pattern.substring( 3 ) ) : null;
+         Path directory = root;
+         matcher = path -> {
+            Path relativePath = directory.relativize( path );
+            return relative.matches( relativePath ) || ( topLevel != null && topLevel.matches( relativePath ) );
+         };
+      }
+      if ( !Files.exists( root ) ) {
+         System.err.println( "No such file or directory: " + root );
+         return false;
+      }
+      int files = 0;
+      if ( Files.isDirectory( root ) ) {
+         files = walkers.invoke( new DirectoryWalk( root, matcher, options, workers, pending ) );
+      } else if ( matcher == null || matcher.matches( root ) ) {
+         Path file = root;
+         pending.add( workers.submit( () -> validate( file, options ) ) );
+         files = 1;
+      }
+      if ( files == 0 ) {
+         System.err.println( "No aspect files match: " + input );
+         return false;
+      }
+      return true;
+   }
+
+   private static boolean isGlob( String input ) {
+      return input.indexOf( '*' ) >= 0 || input.indexOf( '?' ) >= 0 || input.indexOf( '[' ) >= 0 || input.indexOf( '{' ) >= 0;
+   }
+
+   /**
+    * The longest leading part of a glob without wildcards, used as the directory to walk.
+    */
+   private static Path globRoot( String glob ) {
+      String prefix = globPrefix( glob.replace( '\\', '/' ) );
+      return prefix.isEmpty() ? Paths.get( "." ) : Paths.get( prefix );
+   }
+
+   // The leading segments without wildcards, each with its trailing '/', empty if the first one has a wildcard
+   private static String globPrefix( String glob ) {
+      StringBuilder prefix = new StringBuilder();
+      for ( String segment : glob.split( "/" ) ) {
+         if ( isGlob( segment ) ) {
+            break;
+         }
+         prefix.append( segment ).append( '/' );
+      }
+      return prefix.toString();
+   }
+
+   static boolean isAspectFile( Path path ) {
+      String name = path.getFileName().toString();
+      // <name>_original.ttl backups written by earlier versions are not aspects to validate again
+      return name.endsWith( ".ttl" ) && !name.endsWith( "_original.ttl" );
+   }
+
+   static FileReport validate( Path path, Options options ) {
+      try {
+         List<Finding> findings = AspectGuidelineValidator.validateFile( path.toFile(), options.validation );
+         return new FileReport( path, findings.size(), null );
+      } catch ( ValidationFailure e ) {
+         // One failed file never stops the batch, it is reported with the others at the end
+         return new FileReport( path, 0, e );
+      }
+   }
+
+   /**
+    * Lists one directory, forks a walk per sub-directory and hands every matching file to the workers. The result
+    * is the number of files handed over. Symbolic links to directories are not followed.
+    */
+   private static class DirectoryWalk extends RecursiveTask<Integer> {
+      private static final long serialVersionUID = 1L;
+
+      private final Path directory;
+      private final PathMatcher matcher;
+      private final Options options;
+      private final ExecutorService workers;
+      private final Queue<Future<FileReport>> pending;
+
+      DirectoryWalk( Path directory, PathMatcher matcher, Options options, ExecutorService workers,
+            Queue<Future<FileReport>> pending ) {
+         this.directory = directory;
+         this.matcher = matcher;
+         this.options = options;
+         this.workers = workers;
+         this.pending = pending;
+      }
+
+      @Override
+      protected Integer compute() {
+         List<DirectoryWalk> subdirectories = new ArrayList<>();
+         int files = 0;
+         try ( DirectoryStream<Path> entries = Files.newDirectoryStream( directory ) ) {
+            for ( Path entry : entries ) {
+               if ( Files.isDirectory( entry, LinkOption.NOFOLLOW_LINKS ) ) {
+                  subdirectories.add( new DirectoryWalk( entry, matcher, options, workers, pending ) );
+               } else if ( Files.isDirectory( entry ) ) {
+                  // Not followed, like the workspace index does; a link to a parent would be walked forever
+                  logger.fine( "Skipping linked directory " + entry );
+               } else if ( isAspectFile( entry ) && ( matcher == null || matcher.matches( entry ) ) ) {
+                  pending.add( workers.submit( () -> validate( entry, options ) ) );
+                  files++;
+               }
+            }
+         } catch ( IOException e ) {
+            logger.warning( "Could not list directory " + directory + ": " + e.getMessage() );
+         }
+         for ( DirectoryWalk subdirectory : invokeAll( subdirectories ) ) {
+            files += subdirectory.join();
+         }
+         return files;
+      }
+   }
+}
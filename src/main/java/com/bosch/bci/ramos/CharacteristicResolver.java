@@ -0,0 +1,210 @@
+package com.bosch.bci.ramos;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.datatypes.XMLDatatypeUtil;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.XSD;
+
+/**
+ * Resolves the datatype of the characteristics of one file.
+ * <p>
+ * A characteristic is anything typed with samm:Characteristic or one of the samm-c classes, or one of the
+ * predefined samm-c characteristics such as samm-c:Timestamp. Its datatype is its own samm:dataType or, for a
+ * Trait, the datatype of its samm-c:baseCharacteristic, followed to the end of the chain. A collection or Either,
+ * or a Trait over one, has no datatype of a single value and resolves to none. The statements are collected
+ * with {@link #add} while the file is traversed; a characteristic defined in another file of the workspace is
+ * looked up in the {@link WorkspaceIndex}. Every characteristic is resolved once.
+ */
+public class CharacteristicResolver {
+
+   /** The XSD and RDF datatypes of single values, each with the check of its lexical form. */
+   private static final Map<IRI, Predicate<Literal>> SCALAR_DATATYPES = new HashMap<>();
+
+   private static final Pattern HEX_BINARY = Pattern.compile( "([0-9a-fA-F]{2})*" );
+   private static final Pattern BASE64_BINARY = Pattern.compile( "([A-Za-z0-9+/]{4})*([A-Za-z0-9+/]{2}==|[A-Za-z0-9+/]{3}=)?" );
+   private static final Pattern CURIE = Pattern.compile( "[A-Za-z_][A-Za-z0-9_.-]*:[A-Za-z0-9_.-]+" );
+
+   static {
+      for ( IRI dataType : new IRI[] { XSD.STRING, XSD.BOOLEAN, XSD.DECIMAL, XSD.INTEGER, XSD.DOUBLE, XSD.FLOAT, XSD.DATE, XSD.TIME,
+            XSD.DATETIME, XSD.DATETIMESTAMP, XSD.GYEAR, XSD.GMONTH, XSD.GDAY, XSD.GYEARMONTH, XSD.GMONTHDAY, XSD.DURATION,
+            XSD.YEARMONTHDURATION, XSD.DAYTIMEDURATION, XSD.BYTE, XSD.SHORT, XSD.INT, XSD.LONG, XSD.UNSIGNED_BYTE, XSD.UNSIGNED_SHORT,
+            XSD.UNSIGNED_INT, XSD.UNSIGNED_LONG, XSD.POSITIVE_INTEGER, XSD.NON_NEGATIVE_INTEGER, XSD.NEGATIVE_INTEGER,
+            XSD.NON_POSITIVE_INTEGER, XSD.ANYURI } ) {
+         SCALAR_DATATYPES.put( dataType, literal -> XMLDatatypeUtil.isValidValue( literal.getLabel(), dataType ) );
+      }
+      // Not checked by XMLDatatypeUtil
+      SCALAR_DATATYPES.put( XSD.HEXBINARY, literal -> HEX_BINARY.matcher( literal.getLabel() ).matches() );
+      SCALAR_DATATYPES.put( XSD.BASE64BINARY, literal -> BASE64_BINARY.matcher( literal.getLabel() ).matches() );
+      SCALAR_DATATYPES.put( RDF.LANGSTRING, literal -> literal.getLanguage().isPresent() );
+   }
+
+   private final SammVocabulary vocabulary;
+   private final Set<Resource> characteristics = new HashSet<>();
+   private final Set<Resource> multiValueCharacteristics = new HashSet<>();
+   private final Map<Resource, IRI> dataTypes = new HashMap<>();
+   private final Map<Resource, Resource> baseCharacteristics = new HashMap<>();
+   private final Map<Resource, Optional<IRI>> resolved = new HashMap<>();
+   private WorkspaceIndex workspace;
+
+   public CharacteristicResolver( SammVocabulary vocabulary ) {
+      this.vocabulary = vocabulary;
+   }
+
+   /**
+    * @return the predicates of the statements {@link #add} needs
+    */
+   public Set<IRI> getPredicates() {
+      return Set.of( RDF.TYPE, vocabulary.dataType, vocabulary.baseCharacteristic );
+   }
+
+   /**
+    * Collects a statement with one of the {@link #getPredicates() predicates}.
+    */
+   public void add( Statement statement ) {
+      IRI predicate = statement.getPredicate();
+      Value object = statement.getObject();
+      if ( predicate.equals( RDF.TYPE ) ) {
+         if ( vocabulary.characteristicClasses.contains( object ) ) {
+            characteristics.add( statement.getSubject() );
+         }
+         if ( vocabulary.multiValueCharacteristicClasses.contains( object ) ) {
+            multiValueCharacteristics.add( statement.getSubject() );
+         }
+      } else if ( predicate.equals( vocabulary.dataType ) ) {
+         if ( object instanceof IRI ) {
+            dataTypes.putIfAbsent( statement.getSubject(), (IRI) object );
+         }
+      } else if ( object instanceof Resource ) {
+         baseCharacteristics.putIfAbsent( statement.getSubject(), (Resource) object );
+      }
+   }
+
+   /**
+    * @param workspace the other files of the workspace, or null; set before anything is resolved
+    */
+   public void setWorkspace( WorkspaceIndex workspace ) {
+      this.workspace = workspace;
+   }
+
+   /**
+    * @return whether the resource is a characteristic of this file, of the workspace or of the characteristic namespace
+    */
+   public boolean isCharacteristic( Resource resource ) {
+      if ( characteristics.contains( resource ) || vocabulary.predefinedCharacteristics.containsKey( resource ) ) {
+         return true;
+      }
+      if ( workspace != null ) {
+         for ( IRI characteristicClass : vocabulary.characteristicClasses ) {
+            if ( workspace.hasType( resource, characteristicClass ) ) {
+               return true;
+            }
+         }
+      }
+      return false;
+   }
+
+   /**
+    * @return the datatype of the characteristic, empty if it has none, its values are not single values or it cannot
+    *       be resolved
+    */
+   public Optional<IRI> getDataType( Resource characteristic ) {
+      Optional<IRI> dataType = resolved.get( characteristic );
+      if ( dataType == null ) {
+         // Marked first, so a cycle of base characteristics ends here instead of recursing forever
+         resolved.put( characteristic, Optional.empty() );
+         dataType = resolve( characteristic );
+         resolved.put( characteristic, dataType );
+      }
+      return dataType;
+   }
+
+   private Optional<IRI> resolve( Resource characteristic ) {
+      IRI predefined = vocabulary.predefinedCharacteristics.get( characteristic );
+      if ( predefined != null ) {
+         return Optional.of( predefined );
+      }
+      // A collection has the datatype of its elements, checked before it is taken for the datatype of the value
+      if ( isMultiValue( characteristic ) ) {
+         return Optional.empty();
+      }
+      IRI dataType = dataTypes.get( characteristic );
+      if ( dataType == null ) {
+         dataType = firstIri( characteristic, vocabulary.dataType );
+      }
+      if ( dataType != null ) {
+         return Optional.of( dataType );
+      }
+      Resource base = baseCharacteristics.get( characteristic );
+      if ( base == null ) {
+         base = firstIri( characteristic, vocabulary.baseCharacteristic );
+      }
+      return base == null ? Optional.empty() : getDataType( base );
+   }
+
+   private boolean isMultiValue( Resource characteristic ) {
+      if ( multiValueCharacteristics.contains( characteristic ) ) {
+         return true;
+      }
+      if ( workspace != null ) {
+         for ( IRI multiValueClass : vocabulary.multiValueCharacteristicClasses ) {
+            if ( workspace.hasType( characteristic, multiValueClass ) ) {
+               return true;
+            }
+         }
+      }
+      return false;
+   }
+
+   private IRI firstIri( Resource subject, IRI predicate ) {
+      if ( workspace == null ) {
+         return null;
+      }
+      for ( Value object : workspace.getObjects( subject, predicate ) ) {
+         if ( object instanceof IRI ) {
+            return (IRI) object;
+         }
+      }
+      return null;
+   }
+
+   /**
+    * @return whether values of the datatype are single values written as one literal, e.g. xsd:string or samm:curie
+    */
+   public boolean isScalar( IRI dataType ) {
+      return SCALAR_DATATYPES.containsKey( dataType ) || dataType.equals( vocabulary.curie );
+   }
+
+   /**
+    * @return whether the value is a literal whose lexical form is valid for the scalar datatype
+    */
+   public boolean isValidValue( Value value, IRI dataType ) {
+      if ( !( value instanceof Literal ) ) {
+         return false;
+      }
+      Literal literal = (Literal) value;
+      if ( dataType.equals( vocabulary.curie ) ) {
+         return CURIE.matcher( literal.getLabel() ).matches();
+      }
+      Predicate<Literal> validator = SCALAR_DATATYPES.get( dataType );
+      return validator == null || validator.test( literal );
+   }
+}
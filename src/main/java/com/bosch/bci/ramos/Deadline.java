@@ -0,0 +1,92 @@
+package com.bosch.bci.ramos;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import java.time.Duration;
+
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.rio.RDFHandler;
+import org.eclipse.rdf4j.rio.RDFHandlerException;
+import org.eclipse.rdf4j.rio.helpers.RDFHandlerWrapper;
+
+/**
+ * The time budget of one file. Validation checks it between its phases and while statements are parsed, run
+ * through the rules and serialized, and gives up with a {@link ValidationFailure.Kind#TIMEOUT} once it is spent.
+ * The model is serialized into a temporary file that only replaces the file once it is complete, so a cancelled
+ * file is always left as it was.
+ */
+public class Deadline {
+
+   /** A deadline that never expires. */
+   public static final Deadline NONE = new Deadline( Long.MAX_VALUE, null );
+
+   // Reading the clock per statement would cost more than the rules for small files
+   static final int CHECK_INTERVAL = 4096;
+
+   private final long expiresNanos;
+   private final Duration budget;
+
+   private Deadline( long expiresNanos, Duration budget ) {
+      this.expiresNanos = expiresNanos;
+      this.budget = budget;
+   }
+
+   /**
+    * @param budget the time from now on, null or zero for no limit
+    * @return a deadline that expires after the budget
+    */
+   public static Deadline after( Duration budget ) {
+      if ( budget == null || budget.isZero() ) {
+         return NONE;
+      }
+      return new Deadline( System.nanoTime() + budget.toNanos(), budget );
+   }
+
+   /**
+    * @param phase what was running, for the message
+    * @throws ValidationFailure if the deadline has passed
+    */
+   public void check( String phase ) throws ValidationFailure {
+      if ( this != NONE && System.nanoTime() - expiresNanos > 0 ) {
+         throw new ValidationFailure( ValidationFailure.Kind.TIMEOUT,
+               "Cancelled during " + phase + " after the time budget of " + budget.toMillis() + " ms per file" );
+      }
+   }
+
+   /**
+    * @return a handler that passes everything on and stops the parser once the deadline has passed
+    */
+   public RDFHandler wrap( RDFHandler handler ) {
+      return wrap( handler, "parse" );
+   }
+
+   /**
+    * @param phase what the handler is used for, for the message
+    * @return a handler that passes everything on and stops the parser or the writer once the deadline has passed
+    */
+   public RDFHandler wrap( RDFHandler handler, String phase ) {
+      if ( this == NONE ) {
+         return handler;
+      }
+      return new RDFHandlerWrapper( handler ) {
+         private int statements;
+
+         @Override
+         public void handleStatement( Statement statement ) throws RDFHandlerException {
+            if ( ++statements % CHECK_INTERVAL == 0 ) {
+               try {
+                  check( phase );
+               } catch ( ValidationFailure e ) {
+                  throw new RDFHandlerException( e );
+               }
+            }
+            super.handleStatement( statement );
+         }
+      };
+   }
+}
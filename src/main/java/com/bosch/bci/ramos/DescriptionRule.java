@@ -0,0 +1,46 @@
+package com.bosch.bci.ramos;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import java.util.Set;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+
+/**
+ * Fixes the form of samm:description, see {@link RDFUtils#checkAndModifyDescription}. The result is memoized
+ * per run in the {@link LiteralTransformCache}.
+ */
+public class DescriptionRule implements Rule {
+   private final IRI description;
+
+   public DescriptionRule( SammVocabulary vocabulary ) {
+      description = vocabulary.description;
+   }
+
+   @Override
+   public String getId() {
+      return "description";
+   }
+
+   @Override
+   public Set<IRI> getPredicates() {
+      return Set.of( description );
+   }
+
+   @Override
+   public void onStatement( Statement stmt, RuleContext context ) {
+      Value descriptionValue = stmt.getObject();
+      Value modifiedDescription = context.getLiteralCache().description( stmt );
+      if ( !descriptionValue.equals( modifiedDescription ) ) {
+         context.replace( stmt, modifiedDescription, getId(),
+               "Modified description: " + descriptionValue + " to " + modifiedDescription + " for entity: " + stmt.getSubject() );
+      }
+   }
+}
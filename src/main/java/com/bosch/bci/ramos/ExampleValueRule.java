@@ -0,0 +1,117 @@
+package com.bosch.bci.ramos;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+
+/**
+ * Warns about properties without samm:exampleValue whose characteristic has a scalar datatype, and about example
+ * values whose lexical form is not valid for that datatype.
+ * <p>
+ * The properties, their characteristics and their example values are collected while the statements pass by,
+ * together with what the {@link CharacteristicResolver} needs to find the datatype of a characteristic. The check
+ * itself runs in {@link #finish}, once per property. In workspace mode a characteristic defined in another file
+ * is looked up in the {@link WorkspaceIndex}.
+ */
+public class ExampleValueRule implements Rule {
+   private final IRI sammCharacteristicPropertyIRI;
+   private final IRI sammExampleValueIRI;
+   private final Set<IRI> predicates;
+
+   private final CharacteristicResolver resolver;
+   private final Map<Resource, List<Resource>> propertiesByCharacteristic = new LinkedHashMap<>();
+   private final Map<Resource, List<Value>> exampleValues = new HashMap<>();
+
+   public ExampleValueRule( SammVocabulary vocabulary ) {
+      sammCharacteristicPropertyIRI = vocabulary.characteristic; // This is the property link, not the class!
+      sammExampleValueIRI = vocabulary.exampleValue;
+      resolver = new CharacteristicResolver( vocabulary );
+      Set<IRI> all = new HashSet<>( resolver.getPredicates() );
+      all.add( sammCharacteristicPropertyIRI );
+      all.add( sammExampleValueIRI );
+      predicates = Set.copyOf( all );
+   }
+
+   @Override
+   public String getId() {
+      return "example-value";
+   }
+
+   @Override
+   public Set<IRI> getPredicates() {
+      return predicates;
+   }
+
+   @Override
+   public void onStatement( Statement stmt, RuleContext context ) {
+      IRI predicate = stmt.getPredicate();
+      if ( predicate.equals( sammCharacteristicPropertyIRI ) ) {
+         if ( stmt.getObject() instanceof Resource ) {
+            propertiesByCharacteristic.computeIfAbsent( (Resource) stmt.getObject(), key -> new ArrayList<>( 1 ) ).add( stmt.getSubject() );
+         }
+      } else if ( predicate.equals( sammExampleValueIRI ) ) {
+         exampleValues.computeIfAbsent( stmt.getSubject(), key -> new ArrayList<>( 1 ) ).add( stmt.getObject() );
+      } else {
+         resolver.add( stmt );
+      }
+   }
+
+   @Override
+   public void finish( RuleContext context ) {
+      Logger logger = context.getLogger();
+      logger.info( "Starting validation for example values." );
+      resolver.setWorkspace( context.getWorkspace() );
+      for ( Map.Entry<Resource, List<Resource>> entry : propertiesByCharacteristic.entrySet() ) {
+         Resource characteristicSubject = entry.getKey();
+         if ( !resolver.isCharacteristic( characteristicSubject ) ) {
+            // Defined in a file that is not part of this validation
+            continue;
+         }
+         Optional<IRI> dataType = resolver.getDataType( characteristicSubject );
+         if ( dataType.isEmpty() || !resolver.isScalar( dataType.get() ) ) {
+            logger.fine( "Characteristic '" + characteristicSubject.stringValue() + "' does NOT have a primitive datatype." );
+            continue;
+         }
+         for ( Resource associatedProperty : entry.getValue() ) {
+            checkProperty( associatedProperty, characteristicSubject, dataType.get(), context );
+         }
+      }
+      logger.info( "Validation for example values completed." );
+   }
+
+   private void checkProperty( Resource property, Resource characteristicSubject, IRI dataType, RuleContext context ) {
+      List<Value> examples = exampleValues.get( property );
+      if ( examples == null ) {
+         context.warn( property, getId(), "Missing 'samm:exampleValue' for property '" + property.stringValue() +
+               "' which uses primitive datatype characteristic '" + characteristicSubject.stringValue() + "'." );
+         return;
+      }
+      for ( Value example : examples ) {
+         if ( !resolver.isValidValue( example, dataType ) ) {
+            context.warn( property, getId(), "Invalid 'samm:exampleValue' \"" + example.stringValue() + "\" for property '" +
+                  property.stringValue() + "': not a valid " + dataType.stringValue() + " value of characteristic '" +
+                  characteristicSubject.stringValue() + "'." );
+         }
+      }
+      context.getLogger().fine( "Property '" + property.stringValue() + "' (using primitive characteristic '" +
+            characteristicSubject.stringValue() + "') has 'samm:exampleValue'." );
+   }
+}
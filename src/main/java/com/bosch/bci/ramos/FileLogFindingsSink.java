@@ -0,0 +1,43 @@
+package com.bosch.bci.ramos;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Writes the findings of each file to a <name>_logs.txt file next to it, replacing the log of an earlier run.
+ */
+public class FileLogFindingsSink implements FindingsSink {
+
+   /**
+    * @return the log file of the given aspect file
+    */
+   public static Path logFile( Path file ) {
+      String name = file.getFileName().toString();
+      int extension = name.lastIndexOf( '.' );
+      return file.resolveSibling( ( extension > 0 ? name.substring( 0, extension ) : name ) + "_logs.txt" );
+   }
+
+   @Override
+   public void accept( Path file, List<Finding> findings ) throws IOException {
+      try ( BufferedWriter writer = Files.newBufferedWriter( logFile( file ), StandardCharsets.UTF_8 ) ) {
+         writer.write( LocalDateTime.now() + " " + findings.size() + " findings for " + file );
+         writer.newLine();
+         for ( Finding finding : findings ) {
+            writer.write( finding.getSeverity() + ": " + finding.getMessage() );
+            writer.newLine();
+         }
+      }
+   }
+}
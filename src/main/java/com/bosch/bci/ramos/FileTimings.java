@@ -0,0 +1,132 @@
+package com.bosch.bci.ramos;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Time spent in each phase of validating one file, and what was found in it.
+ * <p>
+ * An instance belongs to the worker thread validating the file and is not thread-safe. Once the file is done it
+ * is handed to {@link ValidationMetrics#record}.
+ */
+public class FileTimings {
+
+   /**
+    * The phases of validating a file, in the order they run.
+    */
+   public enum Phase {
+      /** Reading or mapping the file. */
+      READ( "read" ),
+      /** Scanning the raw bytes for SAMM meta-model URNs. */
+      VERSION_DETECTION( "versionDetection" ),
+      /** Looking up and replaying stored results. */
+      CACHE_LOOKUP( "cacheLookup" ),
+      /** Scanning the raw bytes for the copyright year. */
+      COPYRIGHT_SCAN( "copyrightScan" ),
+      /** Parsing the Turtle, without the rules when they run while parsing. */
+      PARSE( "parse" ),
+      /** Running the guideline rules, see the per-rule times. */
+      RULES( "rules" ),
+      /** Applying the replacements of the rules to the model. */
+      REWRITE( "rewrite" ),
+      /** Writing the backup copy. */
+      BACKUP( "backup" ),
+      /** Serializing the model as pretty-printed Turtle. */
+      SERIALIZE( "serialize" ),
+      /** Writing the copyright header, flushing and moving the file into place. */
+      COPYRIGHT_WRITE( "copyrightWrite" );
+
+      private final String key;
+
+      Phase( String key ) {
+         this.key = key;
+      }
+
+      /**
+       * @return the name used in the JSON summary and the MBean
+       */
+      public String getKey() {
+         return key;
+      }
+   }
+
+   private final long[] phaseNanos = new long[Phase.values().length];
+   private final Map<String, Long> ruleNanos;
+   private long statements;
+   private boolean cached;
+
+   /**
+    * @param timeRules whether the rules are timed one by one; this costs two clock reads per rule and statement
+    */
+   public FileTimings( boolean timeRules ) {
+      ruleNanos = timeRules ? new LinkedHashMap<>() : null;
+   }
+
+   /**
+    * Adds time to a phase.
+    *
+    * @param start the {@link System#nanoTime()} at the start of the phase
+    * @return the current {@link System#nanoTime()}, the start of the next phase
+    */
+   public long add( Phase phase, long start ) {
+      long now = System.nanoTime();
+      phaseNanos[phase.ordinal()] += now - start;
+      return now;
+   }
+
+   void addNanos( Phase phase, long nanos ) {
+      phaseNanos[phase.ordinal()] += nanos;
+   }
+
+   /**
+    * @return whether {@link RuleEngine} should time each rule
+    */
+   public boolean isTimingRules() {
+      return ruleNanos != null;
+   }
+
+   void addRule( String ruleId, long nanos ) {
+      ruleNanos.merge( ruleId, nanos, Long::sum );
+   }
+
+   void countStatement() {
+      statements++;
+   }
+
+   void setCached( boolean cached ) {
+      this.cached = cached;
+   }
+
+   public long getNanos( Phase phase ) {
+      return phaseNanos[phase.ordinal()];
+   }
+
+   /**
+    * @return the time of every timed rule by rule id, empty when rules are not timed
+    */
+   public Map<String, Long> getRuleNanos() {
+      return ruleNanos == null ? Collections.emptyMap() : Collections.unmodifiableMap( ruleNanos );
+   }
+
+   /**
+    * @return the number of statements passed to the rules
+    */
+   public long getStatements() {
+      return statements;
+   }
+
+   /**
+    * @return whether the findings were replayed from the result cache
+    */
+   public boolean isCached() {
+      return cached;
+   }
+}
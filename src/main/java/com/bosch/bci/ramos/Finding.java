@@ -0,0 +1,100 @@
+package com.bosch.bci.ramos;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import org.json.JSONObject;
+
+/**
+ * A single result of a guideline rule: either a warning or a modification with the value before and after it.
+ */
+public class Finding {
+
+   public enum Severity {
+      ERROR, WARNING, INFO
+   }
+
+   private final String subject;
+   private final String rule;
+   private final Severity severity;
+   private final String message;
+   private final String before;
+   private final String after;
+
+   public Finding( String subject, String rule, Severity severity, String message, String before, String after ) {
+      this.subject = subject;
+      this.rule = rule;
+      this.severity = severity;
+      this.message = message;
+      this.before = before;
+      this.after = after;
+   }
+
+   /**
+    * @return the IRI of the entity the finding is about, or null for file level findings
+    */
+   public String getSubject() {
+      return subject;
+   }
+
+   /**
+    * @return the id of the rule that reported the finding
+    */
+   public String getRule() {
+      return rule;
+   }
+
+   public Severity getSeverity() {
+      return severity;
+   }
+
+   public String getMessage() {
+      return message;
+   }
+
+   /**
+    * @return the value before a modification, or null if the finding did not modify the model
+    */
+   public String getBefore() {
+      return before;
+   }
+
+   /**
+    * @return the value after a modification, or null if the finding did not modify the model
+    */
+   public String getAfter() {
+      return after;
+   }
+
+   public boolean isModification() {
+      return after != null;
+   }
+
+   /**
+    * @return the finding as a JSON object, fields without a value are left out
+    */
+   public JSONObject toJson() {
+      JSONObject json = new JSONObject();
+      json.put( "subject", subject );
+      json.put( "rule", rule );
+      json.put( "severity", severity.name() );
+      json.put( "message", message );
+      json.put( "before", before );
+      json.put( "after", after );
+      return json;
+   }
+
+   public static Finding fromJson( JSONObject json ) {
+      return new Finding( json.optString( "subject", null ), json.getString( "rule" ), Severity.valueOf( json.getString( "severity" ) ),
+            json.getString( "message" ), json.optString( "before", null ), json.optString( "after", null ) );
+   }
+
+   @Override
+   public String toString() {
+      return severity + " [" + rule + "] " + message;
+   }
+}
@@ -0,0 +1,38 @@
+package com.bosch.bci.ramos;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Receives the findings of every validated file, e.g. to write them as a report.
+ */
+public interface FindingsSink extends Closeable {
+
+   /**
+    * Called once per validated file, also for files without findings.
+    *
+    * @param file the validated file
+    * @param findings the findings of the file
+    * @throws IOException if the findings cannot be written
+    */
+   void accept( Path file, List<Finding> findings ) throws IOException;
+
+   /**
+    * Writes buffered records, called after each batch of files.
+    */
+   default void flush() throws IOException {
+   }
+
+   @Override
+   default void close() throws IOException {
+   }
+}
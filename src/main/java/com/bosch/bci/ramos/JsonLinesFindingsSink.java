@@ -0,0 +1,53 @@
+package com.bosch.bci.ramos;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.json.JSONObject;
+
+/**
+ * Writes one JSON object per finding and line: the file, followed by the fields of {@link Finding#toJson()}.
+ */
+public class JsonLinesFindingsSink implements FindingsSink {
+   private final Writer writer;
+
+   public JsonLinesFindingsSink( Path target ) throws IOException {
+      this( Files.newBufferedWriter( target, StandardCharsets.UTF_8 ) );
+   }
+
+   public JsonLinesFindingsSink( Writer writer ) {
+      this.writer = writer instanceof BufferedWriter ? writer : new BufferedWriter( writer );
+   }
+
+   @Override
+   public void accept( Path file, List<Finding> findings ) throws IOException {
+      for ( Finding finding : findings ) {
+         JSONObject record = finding.toJson();
+         record.put( "file", file.toString() );
+         writer.write( record.toString() );
+         writer.write( '\n' );
+      }
+   }
+
+   @Override
+   public void flush() throws IOException {
+      writer.flush();
+   }
+
+   @Override
+   public void close() throws IOException {
+      writer.close();
+   }
+}
@@ -0,0 +1,195 @@
+package com.bosch.bci.ramos;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+
+/**
+ * Bounded, least-recently-used memo of the preferredName and description fixes of {@link RDFUtils}.
+ * <p>
+ * Shared characteristics, entities and units repeat the same texts across a catalog, so one instance is shared
+ * by all worker threads of a run. The fixes only depend on the lexical form, the language tag and the datatype
+ * of the literal; entries are keyed by all three plus {@link RuleEngine#RULE_SET_VERSION}, so a changed rule
+ * never reuses an old result and a literal never gets the datatype of another one. Only copies created by the {@link SimpleValueFactory} are kept, never a value of the model, so
+ * the cache does not keep the store of a file alive.
+ */
+public class LiteralTransformCache {
+
+   /** Number of entries kept when no size is given on the command line. */
+   public static final int DEFAULT_SIZE = 10_000;
+
+   /** A cache that keeps nothing, every literal is transformed again. */
+   public static final LiteralTransformCache DISABLED = new LiteralTransformCache( 0 );
+
+   private static final ValueFactory VALUE_FACTORY = SimpleValueFactory.getInstance();
+
+   private enum Transform {
+      PREFERRED_NAME,
+      DESCRIPTION
+   }
+
+   private static class Key {
+      final Transform transform;
+      final String label;
+      final String language;
+      final IRI datatype;
+      final String ruleSetVersion;
+      final int hash;
+
+      Key( Transform transform, Literal literal ) {
+         this.transform = transform;
+         this.label = literal.getLabel();
+         this.language = literal.getLanguage().orElse( "" );
+         this.datatype = literal.getDatatype();
+         this.ruleSetVersion = RuleEngine.RULE_SET_VERSION;
+         this.hash = Objects.hash( transform, label, language, datatype, ruleSetVersion );
+      }
+
+      @Override
+      public boolean equals( Object other ) {
+         if ( !( other instanceof Key ) ) {
+            return false;
+         }
+         Key key = (Key) other;
+         return transform == key.transform && label.equals( key.label ) && language.equals( key.language )
+               && datatype.equals( key.datatype ) && ruleSetVersion.equals( key.ruleSetVersion );
+      }
+
+      @Override
+      public int hashCode() {
+         return hash;
+      }
+   }
+
+   private final int maximumSize;
+   private final Map<Key, Value> entries;
+   private final LongAdder hits = new LongAdder();
+   private final LongAdder misses = new LongAdder();
+
+   /**
+    * @param maximumSize the number of entries kept, 0 to disable caching
+    */
+   public LiteralTransformCache( int maximumSize ) {
+      if ( maximumSize < 0 ) {
+         throw new IllegalArgumentException( "The literal cache size must not be negative" );
+      }
+      this.maximumSize = maximumSize;
+      this.entries = new LinkedHashMap<>( 16, 0.75f, true ) {
+         @Override
+         protected boolean removeEldestEntry( Map.Entry<Key, Value> eldest ) {
+            return size() > LiteralTransformCache.this.maximumSize;
+         }
+      };
+   }
+
+   /**
+    * @return the result of {@link RDFUtils#checkAndModifyPreferredName} for the object of the statement
+    */
+   public Value preferredName( Statement stmt ) {
+      return transform( Transform.PREFERRED_NAME, stmt );
+   }
+
+   /**
+    * @return the result of {@link RDFUtils#checkAndModifyDescription} for the object of the statement
+    */
+   public Value description( Statement stmt ) {
+      return transform( Transform.DESCRIPTION, stmt );
+   }
+
+   private Value transform( Transform transform, Statement stmt ) {
+      Value value = stmt.getObject();
+      if ( !( value instanceof Literal ) ) {
+         return compute( transform, stmt );
+      }
+      if ( maximumSize == 0 ) {
+         misses.increment();
+         return compute( transform, stmt );
+      }
+      Key key = new Key( transform, (Literal) value );
+      Value cached;
+      synchronized ( entries ) {
+         cached = entries.get( key );
+      }
+      if ( cached != null ) {
+         hits.increment();
+         return cached;
+      }
+      misses.increment();
+      // Computed outside the lock; two threads missing the same key at once simply store equal values
+      Value result = compute( transform, stmt );
+      Value detached = detach( result );
+      synchronized ( entries ) {
+         entries.put( key, detached );
+      }
+      return result;
+   }
+
+   // A compliant literal comes back as it is, and one of a store would keep the store reachable after it is closed
+   private static Value detach( Value value ) {
+      if ( !( value instanceof Literal ) ) {
+         return value;
+      }
+      Literal literal = (Literal) value;
+      Optional<String> language = literal.getLanguage();
+      return language.isPresent()
+            ? VALUE_FACTORY.createLiteral( literal.getLabel(), language.get() )
+            : VALUE_FACTORY.createLiteral( literal.getLabel(), literal.getDatatype() );
+   }
+
+   private static Value compute( Transform transform, Statement stmt ) {
+      return transform == Transform.PREFERRED_NAME
+            ? RDFUtils.checkAndModifyPreferredName( stmt.getObject(), stmt )
+            : RDFUtils.checkAndModifyDescription( stmt.getObject(), stmt );
+   }
+
+   public int getMaximumSize() {
+      return maximumSize;
+   }
+
+   /**
+    * @return the number of entries currently kept
+    */
+   public int size() {
+      synchronized ( entries ) {
+         return entries.size();
+      }
+   }
+
+   /**
+    * @return the number of literals whose result was found in the cache
+    */
+   public long getHits() {
+      return hits.sum();
+   }
+
+   /**
+    * @return the number of literals that had to be transformed, including all of them when caching is disabled
+    */
+   public long getMisses() {
+      return misses.sum();
+   }
+
+   @Override
+   public String toString() {
+      long hitCount = getHits();
+      long lookups = hitCount + getMisses();
+      return String.format( "%d hits, %d misses (%.1f%% hit rate), %d of %d entries used", hitCount, getMisses(),
+            lookups == 0 ? 0.0 : 100.0 * hitCount / lookups, size(), maximumSize );
+   }
+}
@@ -0,0 +1,196 @@
+package com.bosch.bci.ramos;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import org.eclipse.rdf4j.common.transaction.IsolationLevels;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.eclipse.rdf4j.rio.RDFHandler;
+import org.eclipse.rdf4j.rio.helpers.StatementCollector;
+import org.eclipse.rdf4j.sail.Sail;
+import org.eclipse.rdf4j.sail.SailConnection;
+import org.eclipse.rdf4j.sail.SailException;
+import org.eclipse.rdf4j.sail.memory.MemoryStore;
+import org.eclipse.rdf4j.sail.model.SailModel;
+import org.eclipse.rdf4j.sail.nativerdf.NativeStore;
+
+/**
+ * The storage behind the {@link Model} a file is parsed into, chosen by the size of the file.
+ * <p>
+ * Small files go into a {@link LinkedHashModel}. Medium files go into a {@link MemoryStore}, whose statement lists per
+ * subject, predicate and object keep the lookups and the remove/add of the rewrite cheap on many statements. Files
+ * whose parsed statements would not fit the heap go into a {@link NativeStore} in a temporary directory, indexed
+ * by subject and by predicate. The stores are wrapped in a {@link SailModel}, so the rules, the rewrite and the
+ * Turtle writer see the same {@code Model} interface for all three. Nothing is ever committed: closing the backend
+ * discards the statements and deletes the temporary directory.
+ */
+public class ModelBackend implements AutoCloseable {
+   private static final Logger logger = Logger.getLogger( ModelBackend.class.getName() );
+
+   /** Default size from which files are parsed into a {@link MemoryStore}. */
+   public static final long DEFAULT_MEMORY_STORE_BYTES = 8L * 1024 * 1024;
+
+   /**
+    * Default size from which files are parsed into a {@link NativeStore}. A parsed statement takes roughly sixteen
+    * times its Turtle size on the heap, so this keeps a model within half of the maximum heap. Files above the
+    * {@link ValidationOptions#DEFAULT_MAX_FILE_BYTES default size limit} fail before a backend is chosen, so on large
+    * heaps the threshold is capped at half of that limit to leave the upper half of the allowed sizes to the store.
+    */
+   public static final long DEFAULT_NATIVE_STORE_BYTES = Math.min( Runtime.getRuntime().maxMemory() / 32,
+         ValidationOptions.DEFAULT_MAX_FILE_BYTES / 2 );
+
+   /**
+    * The available backends.
+    */
+   public enum Kind {
+      LINKED_HASH( "linked-hash" ),
+      MEMORY_STORE( "memory" ),
+      NATIVE_STORE( "native" );
+
+      private final String id;
+
+      Kind( String id ) {
+         this.id = id;
+      }
+
+      public String getId() {
+         return id;
+      }
+
+      /**
+       * @param id a backend id as given on the command line
+       * @return the backend with that id
+       * @throws IllegalArgumentException if there is none
+       */
+      public static Kind of( String id ) {
+         for ( Kind kind : values() ) {
+            if ( kind.id.equals( id ) ) {
+               return kind;
+            }
+         }
+         throw new IllegalArgumentException( "Unknown model backend: " + id );
+      }
+   }
+
+   private final Kind kind;
+   private final Model model;
+   private final Sail sail;
+   private final SailConnection connection;
+   private final Path directory;
+
+   private ModelBackend( Kind kind, Model model, Sail sail, SailConnection connection, Path directory ) {
+      this.kind = kind;
+      this.model = model;
+      this.sail = sail;
+      this.connection = connection;
+      this.directory = directory;
+   }
+
+   /**
+    * @param size the size of the file in bytes
+    * @param memoryStoreBytes the size from which a {@link MemoryStore} is used
+    * @param nativeStoreBytes the size from which a {@link NativeStore} is used
+    * @return the backend for a file of the given size
+    */
+   public static Kind choose( long size, long memoryStoreBytes, long nativeStoreBytes ) {
+      if ( size >= nativeStoreBytes ) {
+         return Kind.NATIVE_STORE;
+      }
+      return size >= memoryStoreBytes ? Kind.MEMORY_STORE : Kind.LINKED_HASH;
+   }
+
+   /**
+    * Creates an empty model of the given kind.
+    *
+    * @throws IOException if the temporary directory of a {@link NativeStore} cannot be created
+    */
+   public static ModelBackend open( Kind kind ) throws IOException {
+      switch ( kind ) {
+         case MEMORY_STORE:
+            return open( kind, new MemoryStore(), null );
+         case NATIVE_STORE:
+            Path directory = Files.createTempDirectory( "aspectvalidator-store" );
+            try {
+               return open( kind, new NativeStore( directory.toFile(), "spoc,posc" ), directory );
+            } catch ( SailException e ) {
+               delete( directory );
+               throw new IOException( "Cannot create a native store in " + directory, e );
+            }
+         default:
+            return new ModelBackend( kind, new LinkedHashModel(), null, null, null );
+      }
+   }
+
+   private static ModelBackend open( Kind kind, Sail sail, Path directory ) {
+      sail.init();
+      SailConnection connection = sail.getConnection();
+      // One connection per file and never committed, so nothing needs to be isolated
+      connection.begin( IsolationLevels.NONE );
+      return new ModelBackend( kind, new SailModel( connection, false ), sail, connection, directory );
+   }
+
+   public Kind getKind() {
+      return kind;
+   }
+
+   /**
+    * @return the model, valid until the backend is closed
+    */
+   public Model getModel() {
+      return model;
+   }
+
+   /**
+    * @return a handler that adds the parsed statements and namespaces to the model
+    */
+   public RDFHandler newCollector() {
+      return new StatementCollector( model ) {
+         @Override
+         public void handleNamespace( String prefix, String uri ) {
+            // The collector only writes through to the live namespace set of an in-memory model, not of a store
+            if ( model.getNamespace( prefix ).isEmpty() ) {
+               model.setNamespace( prefix, uri );
+            }
+         }
+      };
+   }
+
+   /**
+    * Discards the statements and deletes the temporary files.
+    */
+   @Override
+   public void close() {
+      if ( sail == null ) {
+         return;
+      }
+      try {
+         connection.rollback();
+         connection.close();
+      } finally {
+         sail.shutDown();
+         if ( directory != null ) {
+            delete( directory );
+         }
+      }
+   }
+
+   private static void delete( Path directory ) {
+      try ( Stream<Path> walk = Files.walk( directory ) ) {
+         walk.sorted( Comparator.reverseOrder() ).forEach( path -> path.toFile().delete() );
+      } catch ( IOException e ) {
+         logger.warning( "Could not delete the native store " + directory + ": " + e.getMessage() );
+      }
+   }
+}
@@ -0,0 +1,276 @@
+package com.bosch.bci.ramos;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.RDFHandler;
+import org.eclipse.rdf4j.rio.RDFHandlerException;
+import org.eclipse.rdf4j.rio.RDFParseException;
+import org.eclipse.rdf4j.rio.RDFParser;
+import org.eclipse.rdf4j.rio.RDFWriter;
+import org.eclipse.rdf4j.rio.Rio;
+
+/**
+ * Local cache of parsed aspect models in RDF4J's binary RDF format, so unchanged content is not tokenized as
+ * Turtle again.
+ * <p>
+ * An entry is keyed by the SHA-256 of the Turtle content and the validator version, so a changed file simply
+ * misses. On a miss the Turtle statements are passed on and written to the binary entry in the same pass. Entries
+ * are written to a temporary file and moved into place. Reading an entry marks it as used; entries unused for
+ * longer than the maximum age are deleted, and the least recently used ones go first when the cache grows beyond
+ * its maximum size.
+ */
+public class ModelCache {
+   private static final Logger logger = Logger.getLogger( ModelCache.class.getName() );
+
+   /** The cache directory used when none is given on the command line. */
+   public static final Path DEFAULT_DIRECTORY = Paths.get( System.getProperty( "user.home" ), ".aspectvalidator", "cache", "models" );
+
+   /** Default largest total size of the entries. */
+   public static final long DEFAULT_MAX_BYTES = 512L * 1024 * 1024;
+
+   /** Default time after which an unused entry is deleted. */
+   public static final Duration DEFAULT_MAX_AGE = Duration.ofDays( 30 );
+
+   // Increase when entries written by earlier versions can no longer be read
+   private static final String FORMAT_VERSION = "1";
+
+   // Number of new entries after which the limits are enforced again, for long watch sessions
+   private static final int EVICTION_INTERVAL = 256;
+
+   private static final String SUFFIX = ".brf";
+
+   private final Path directory;
+   private final long maxBytes;
+   private final Duration maxAge;
+   private final AtomicInteger writes = new AtomicInteger();
+
+   /**
+    * Opens the cache and deletes the entries beyond the limits.
+    *
+    * @param directory the cache directory, created if missing
+    * @param maxBytes the largest total size of the entries
+    * @param maxAge the time after which an unused entry is deleted
+    * @throws IOException if the directory cannot be created
+    */
+   public ModelCache( Path directory, long maxBytes, Duration maxAge ) throws IOException {
+      this.directory = directory;
+      this.maxBytes = maxBytes;
+      this.maxAge = maxAge;
+      Files.createDirectories( directory );
+      evict();
+   }
+
+   /**
+    * @return the cache key of the parsed content
+    */
+   public static String key( AspectSource source ) {
+      String key = source.contentHash() + '\n' + ResultCache.VALIDATOR_VERSION + '\n' + FORMAT_VERSION;
+      return AspectSource.sha256( ByteBuffer.wrap( key.getBytes( StandardCharsets.UTF_8 ) ) );
+   }
+
+   /**
+    * Passes the statements of the source to the handler, from the binary entry if there is one and by parsing the
+    * Turtle otherwise. A parsed source is stored for the next time.
+    *
+    * @param source the Turtle content
+    * @param handler receives the namespaces and statements, exactly as a Turtle parser would report them
+    * @throws IOException if the source cannot be read
+    * @throws RDFParseException if the source is not valid Turtle
+    */
+   public void parse( AspectSource source, RDFHandler handler ) throws IOException {
+      String key = key( source );
+      Path file = entryFile( key );
+      if ( replay( file, handler ) ) {
+         return;
+      }
+
+      Files.createDirectories( file.getParent() );
+      Path temp = Files.createTempFile( file.getParent(), key, ".tmp" );
+      try {
+         try ( OutputStream output = new BufferedOutputStream( Files.newOutputStream( temp ) ) ) {
+            RDFParser parser = Rio.createParser( RDFFormat.TURTLE );
+            parser.setRDFHandler( new RecordingHandler( handler, Rio.createWriter( RDFFormat.BINARY, output ) ) );
+            try ( InputStream input = source.openStream() ) {
+               parser.parse( input, "" );
+            }
+         }
+         try {
+            Files.move( temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+         } catch ( AtomicMoveNotSupportedException e ) {
+            Files.move( temp, file, StandardCopyOption.REPLACE_EXISTING );
+         }
+      } finally {
+         Files.deleteIfExists( temp );
+      }
+      if ( writes.incrementAndGet() % EVICTION_INTERVAL == 0 ) {
+         evict();
+      }
+   }
+
+   // Streams a stored entry into the handler, false on a miss
+   private boolean replay( Path file, RDFHandler handler ) throws IOException {
+      InputStream input;
+      try {
+         input = new BufferedInputStream( Files.newInputStream( file ) );
+      } catch ( NoSuchFileException e ) {
+         return false;
+      } catch ( IOException e ) {
+         logger.warning( "Ignoring unreadable model cache entry " + file + ": " + e.getMessage() );
+         return false;
+      }
+      try {
+         Files.setLastModifiedTime( file, FileTime.fromMillis( System.currentTimeMillis() ) );
+      } catch ( IOException e ) {
+         // a read-only cache still serves its entries, they just age by the time they were written
+      }
+      try ( input ) {
+         RDFParser parser = Rio.createParser( RDFFormat.BINARY );
+         parser.setRDFHandler( handler );
+         parser.parse( input, "" );
+         return true;
+      } catch ( IOException | RDFParseException e ) {
+         // Entries are only moved into place complete, so this is damage on disk. The handler may have seen part of
+         // the statements already, so the file fails this time and is parsed from Turtle the next time.
+         Files.deleteIfExists( file );
+         throw new IOException( "Damaged model cache entry " + file + " deleted, validate the file again", e );
+      }
+   }
+
+   /**
+    * Deletes the entries unused for longer than the maximum age, then the least recently used ones until the
+    * total size is within the maximum.
+    */
+   public synchronized void evict() {
+      List<Path> files;
+      try ( Stream<Path> walk = Files.walk( directory ) ) {
+         files = walk.filter( path -> path.getFileName().toString().endsWith( SUFFIX ) ).collect( Collectors.toList() );
+      } catch ( IOException e ) {
+         logger.warning( "Could not list the model cache " + directory + ": " + e.getMessage() );
+         return;
+      }
+      List<Entry> entries = new ArrayList<>( files.size() );
+      for ( Path file : files ) {
+         try {
+            BasicFileAttributes attributes = Files.readAttributes( file, BasicFileAttributes.class );
+            entries.add( new Entry( file, attributes.lastModifiedTime().toMillis(), attributes.size() ) );
+         } catch ( IOException e ) {
+            // deleted by a concurrent eviction
+         }
+      }
+      // Most recently used first, everything after the size limit is reached goes
+      entries.sort( Comparator.comparingLong( ( Entry entry ) -> entry.lastUsed ).reversed() );
+
+      long oldest = System.currentTimeMillis() - maxAge.toMillis();
+      long total = 0;
+      int deleted = 0;
+      for ( Entry entry : entries ) {
+         if ( entry.lastUsed >= oldest && total + entry.size <= maxBytes ) {
+            total += entry.size;
+            continue;
+         }
+         try {
+            Files.deleteIfExists( entry.file );
+            deleted++;
+         } catch ( IOException e ) {
+            logger.warning( "Could not delete model cache entry " + entry.file + ": " + e.getMessage() );
+         }
+      }
+      if ( deleted > 0 ) {
+         logger.info( "Evicted " + deleted + " of " + entries.size() + " model cache entries" );
+      }
+   }
+
+   /**
+    * A stored model as seen by the eviction.
+    */
+   private static class Entry {
+      final Path file;
+      final long lastUsed;
+      final long size;
+
+      Entry( Path file, long lastUsed, long size ) {
+         this.file = file;
+         this.lastUsed = lastUsed;
+         this.size = size;
+      }
+   }
+
+   private Path entryFile( String key ) {
+      // Two-level layout keeps directories small for large repositories
+      return directory.resolve( key.substring( 0, 2 ) ).resolve( key + SUFFIX );
+   }
+
+   /**
+    * Passes everything on to the handler and writes it to the binary entry as well.
+    */
+   private static class RecordingHandler implements RDFHandler {
+      private final RDFHandler handler;
+      private final RDFWriter writer;
+
+      RecordingHandler( RDFHandler handler, RDFWriter writer ) {
+         this.handler = handler;
+         this.writer = writer;
+      }
+
+      @Override
+      public void startRDF() throws RDFHandlerException {
+         writer.startRDF();
+         handler.startRDF();
+      }
+
+      @Override
+      public void handleNamespace( String prefix, String uri ) throws RDFHandlerException {
+         writer.handleNamespace( prefix, uri );
+         handler.handleNamespace( prefix, uri );
+      }
+
+      @Override
+      public void handleStatement( Statement statement ) throws RDFHandlerException {
+         writer.handleStatement( statement );
+         handler.handleStatement( statement );
+      }
+
+      @Override
+      public void handleComment( String comment ) throws RDFHandlerException {
+         handler.handleComment( comment );
+      }
+
+      @Override
+      public void endRDF() throws RDFHandlerException {
+         // The entry is complete before the handler runs its end of file checks
+         writer.endRDF();
+         handler.endRDF();
+      }
+   }
+}
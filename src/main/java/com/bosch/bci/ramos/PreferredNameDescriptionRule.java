@@ -0,0 +1,78 @@
+package com.bosch.bci.ramos;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import java.util.Set;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.Statement;
+
+/**
+ * Warns when the preferredName of an entity equals its description in the same language, either literally or
+ * after normalization (see {@link RDFUtils#normalizeValue}).
+ * <p>
+ * The labels are collected in a {@link SubjectLabelIndex} during the traversal and paired in {@link #finish},
+ * so each file needs one pass over the statements and one pass over the index.
+ */
+public class PreferredNameDescriptionRule implements Rule {
+   private final IRI preferredName;
+   private final IRI description;
+   private final SubjectLabelIndex index = new SubjectLabelIndex();
+
+   public PreferredNameDescriptionRule( SammVocabulary vocabulary ) {
+      preferredName = vocabulary.preferredName;
+      description = vocabulary.description;
+   }
+
+   @Override
+   public String getId() {
+      return "preferred-name-description";
+   }
+
+   @Override
+   public Set<IRI> getPredicates() {
+      return Set.of( preferredName, description );
+   }
+
+   @Override
+   public void onStatement( Statement stmt, RuleContext context ) {
+      if ( !( stmt.getObject() instanceof Literal ) ) {
+         return;
+      }
+      Literal literal = (Literal) stmt.getObject();
+      if ( stmt.getPredicate().equals( preferredName ) ) {
+         index.addPreferredName( stmt.getSubject(), literal );
+      } else {
+         index.addDescription( stmt.getSubject(), literal );
+      }
+   }
+
+   @Override
+   public void finish( RuleContext context ) {
+      index.forEach( ( subject, labels ) -> {
+         for ( Literal name : labels.getPreferredNames() ) {
+            String nameText = name.getLabel();
+            String normalizedName = null;
+            for ( Literal descriptionLiteral : labels.getDescriptionsInLanguageOf( name ) ) {
+               String descriptionText = descriptionLiteral.getLabel();
+               if ( nameText.equals( descriptionText ) ) {
+                  context.warn( subject, getId(), "preferredName and description are the same for entity: " + subject );
+                  continue;
+               }
+               if ( normalizedName == null ) {
+                  normalizedName = RDFUtils.normalizeValue( nameText );
+               }
+               if ( normalizedName.equals( RDFUtils.normalizeValue( descriptionText ) ) ) {
+                  context.warn( subject, getId(), "Normalized preferredName and description are equal for entity: " + subject.stringValue() );
+               }
+            }
+         }
+      } );
+   }
+}
@@ -0,0 +1,51 @@
+package com.bosch.bci.ramos;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import java.util.Set;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+
+/**
+ * Fixes the spelling of samm:preferredName, see {@link RDFUtils#checkAndModifyPreferredName}. The result is
+ * memoized per run in the {@link LiteralTransformCache}.
+ */
+public class PreferredNameRule implements Rule {
+   private final IRI preferredName;
+
+   public PreferredNameRule( SammVocabulary vocabulary ) {
+      preferredName = vocabulary.preferredName;
+   }
+
+   @Override
+   public String getId() {
+      return "preferred-name";
+   }
+
+   @Override
+   public Set<IRI> getPredicates() {
+      return Set.of( preferredName );
+   }
+
+   @Override
+   public void onStatement( Statement stmt, RuleContext context ) {
+      Value preferredNameValue = stmt.getObject();
+      String preferredNamestr = preferredNameValue.stringValue();
+      if ( preferredNamestr.isEmpty() ) {
+         context.getLogger().info( "Modified preferredName not found for entity: " + stmt.getSubject() );
+      } else {
+         Value modifiedPreferredName = context.getLiteralCache().preferredName( stmt );
+         if ( !preferredNamestr.equals( modifiedPreferredName.stringValue() ) ) {
+            context.replace( stmt, modifiedPreferredName, getId(),
+                  "Modified preferredName: " + preferredNameValue + " to " + modifiedPreferredName + " for entity: " + stmt.getSubject() );
+         }
+      }
+   }
+}
@@ -13,22 +13,25 @@ import org.eclipse.rdf4j.model.*;
 import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
 import org.eclipse.rdf4j.model.util.Values;
 import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.RDFHandlerException;
 import org.eclipse.rdf4j.rio.RDFWriter;
 import org.eclipse.rdf4j.model.vocabulary.RDF;
 import org.eclipse.rdf4j.rio.Rio;
 import org.eclipse.rdf4j.rio.helpers.BasicWriterSettings;
 
-import java.io.ByteArrayOutputStream;
+import java.io.FilterWriter;
 import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.time.Year;
-import java.util.Arrays;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -43,16 +46,13 @@ public class RDFUtils {
     private static final Logger logger = Logger.getLogger(RDFUtils.class.getName());
     
     private static final ValueFactory valueFactory = SimpleValueFactory.getInstance();
+
+    // Regular expression to match acronyms that are separated by spaces or punctuation, compiled once
+    private static final Pattern ACRONYM = Pattern.compile("\\b[A-Z]{2,}\\b");
+
+    // Leading articles removed from descriptions
+    private static final String[] ARTICLES = {"the ", "a ", "an "};
     
- // List of primitive datatypes
-    /*
-    private static final List<String> primitiveDatatypes = Arrays.asList(
-        "xsd:string", "xsd:boolean", "xsd:decimal", "xsd:integer", "xsd:double", "xsd:float",
-        "xsd:date", "xsd:time", "xsd:dateTime", "xsd:dateTimeStamp", "xsd:gYear", "xsd:gMonth",
-        "xsd:gDay", "xsd:gYearMonth", "xsd:gMonthDay", "xsd:duration", "xsd:yearMonthDuration",
-        "xsd:dayTimeDuration"
-    );
-	*/
 
 
 	 // Function to check and modify preferredName
@@ -70,13 +70,18 @@ public class RDFUtils {
 	     //preferredNamestr = preferredNamestr.replaceAll("[_\\-+.^:,]", " ");
 	
 	     
-	     if (langTag.toString().equals("Optional[en]")) {
+	     if (langTag.isPresent() && langTag.get().equals("en")) {
 		     //preferredNamestr = preferredNamestr.toString().toLowerCase();
 	    	 //identify accronyms in pref name. 
 	          preferredNamestr = modifyCapitalizedWords(preferredNamestr);
 	    	  //preferredNamestr = Character.toLowerCase(preferredNamestr.charAt(0)) + preferredNamestr.substring(1);
 
 		 }//only lower case to English language
+
+	     // modifyCapitalizedWords returns the same instance for a compliant name, keep the original literal then
+	     if (preferredNamestr == stmt.getObject().stringValue()) {
+	         return preferredName;
+	     }
 	
 	     Literal literal;
 	     if (langTag.isPresent()) {
@@ -96,7 +101,16 @@ public class RDFUtils {
 		    // Read the file content
 		    String content = new String(Files.readAllBytes(Paths.get(filePath)), StandardCharsets.UTF_8);
 
-		  
+		    String withNotice = addCopyrightNotice(content, copyrightYear, filePath);
+		    if (withNotice != content) {
+		        // Write the modified content back to the file
+		        Files.write(Paths.get(filePath), withNotice.getBytes(StandardCharsets.UTF_8));
+		    }
+		}
+
+	 // Function to prepend the copyright notice to file content that is already in memory.
+	 // Returns the same instance if the notice is already present.
+	 public static String addCopyrightNotice(String content, String copyrightYear, String filePath) {
 		    // Get the current year
 		    String currentYear = Year.now().toString();
 		    
@@ -109,23 +123,43 @@ public class RDFUtils {
 		    copyrightYear =(copyrightYear==null)? currentYear : copyrightYear;
 
 		    // Create the copyright notice
-		    String copyrightNotice = String.format(
+		    String copyrightNotice = copyrightNotice(copyrightYear);
+
+		    // Check if the copyright notice is present at the beginning of the file
+		    if (content.startsWith(copyrightNotice)) {
+		        return content;
+		    }
+		    // Log the modification
+		    logger.info("Added copyright notice to the file: " + filePath +". "+logg_message);
+		    // Prepend the copyright notice to the file content
+		    return copyrightNotice + content;
+		}
+	 // The copyright notice every aspect file has to start with
+	 static String copyrightNotice(String copyrightYear) {
+		    return String.format(
 		        "#\n" +
 		        "# Copyright (c) %s Robert Bosch Manufacturing Solutions GmbH, Germany. All rights reserved.\n" +
 		        "#\n\n", copyrightYear);
+	 }
 
-		    // Check if the copyright notice is present at the beginning of the file
-		    if (!content.startsWith(copyrightNotice)) {
-		        // Prepend the copyright notice to the file content
-		        content = copyrightNotice + content;
-
-		        // Write the modified content back to the file
-		        Files.write(Paths.get(filePath), content.getBytes(StandardCharsets.UTF_8));
-
-		        // Log the modification
-		        logger.info("Added copyright notice to the file: " + filePath +". "+logg_message);
+	 // Checks if the loaded file content already starts with the copyright notice of the given year
+	 public static boolean hasCopyrightNotice(ByteBuffer content, String copyrightYear) {
+		    if (copyrightYear == null) {
+		        return false;
 		    }
-		}
+		    byte[] notice = copyrightNotice(copyrightYear).getBytes(StandardCharsets.UTF_8);
+		    if (content.remaining() < notice.length) {
+		        return false;
+		    }
+		    int start = content.position();
+		    for (int i = 0; i < notice.length; i++) {
+		        if (content.get(start + i) != notice[i]) {
+		            return false;
+		        }
+		    }
+		    return true;
+	 }
+
 	//getting the first publication year
 	 
 	 private static String getFirstPublicationYear(String repoUrl) throws IOException {
@@ -152,31 +186,270 @@ public class RDFUtils {
 
     // Function to save the model with pretty printing
     public static void saveModel(Model model, String filePath) throws IOException {
-        // Write the model to a string with pretty printing
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        RDFWriter writer = Rio.createWriter(RDFFormat.TURTLE, outputStream);
-        writer.getWriterConfig().set(BasicWriterSettings.PRETTY_PRINT, true);
-        writer.getWriterConfig().set(BasicWriterSettings.INLINE_BLANK_NODES, true);
-        Rio.write(model, writer);
-        String modelContent = outputStream.toString(StandardCharsets.UTF_8);
-
-        // Write the content back to the file
-        Files.write(Paths.get(filePath), modelContent.getBytes(StandardCharsets.UTF_8));
-        //rereading and rewriting to remove rdf.nil
-        // After RDFUtils.saveModel(model, ttlFilePath);
-        String savedContent = new String(Files.readAllBytes(Paths.get(filePath)), StandardCharsets.UTF_8);
-        if (savedContent.contains("samm:operations rdf:nil") || savedContent.contains("samm:events rdf:nil")) {
-        	savedContent = savedContent.replace("samm:operations rdf:nil", "samm:operations ()");
-            savedContent = savedContent.replace("samm:events rdf:nil", "samm:events ()");
-            Files.write(Paths.get(filePath), savedContent.getBytes(StandardCharsets.UTF_8));
-            logger.info("removed rdf:nil from "+filePath);
-		}
-        
+        writeModel(model, Paths.get(filePath), null, null, Deadline.NONE);
+
+        // Log the modification
+        logger.info("Saved model to file: " + filePath);
+    }
+
+    // Function to save the model together with the copyright notice in a single write,
+    // instead of saveModel followed by checkAndAddCopyrightNotice re-reading the file
+    public static void saveModel(Model model, String filePath, String copyrightYear) throws IOException {
+        // The serialized model never contains comments, so the notice is always written in front of it
+        writeModel(model, Paths.get(filePath), copyrightNotice(noticeYear(copyrightYear)), null, Deadline.NONE);
+
+        // Log the modification
+        logger.info("Saved model to file: " + filePath);
+    }
+
+    // Same as above for a file whose loaded content was already checked with hasCopyrightNotice, which tells
+    // whether the notice is added. Adds the serialize and copyright write times to the timings of the file, if not
+    // null, and leaves the file as it was if the deadline passes while the model is serialized.
+    static void saveModel(Model model, String filePath, String copyrightYear, boolean hasNotice, FileTimings timings, Deadline deadline)
+            throws IOException {
+        String logg_message = (copyrightYear == null) ? "Attention!, non copyright year found, added current year" : "Added exiting copyright year found in file";
+        writeModel(model, Paths.get(filePath), copyrightNotice(noticeYear(copyrightYear)), timings, deadline);
+        if (!hasNotice) {
+            logger.info("Added copyright notice to the file: " + filePath + ". " + logg_message);
+        }
 
         // Log the modification
         logger.info("Saved model to file: " + filePath);
     }
 
+    // The year of the notice, the current one if the file had none
+    private static String noticeYear(String copyrightYear) {
+        return (copyrightYear == null) ? Year.now().toString() : copyrightYear;
+    }
+
+    // Function to stream the header and the pretty printed model into a temporary file next to the target,
+    // which then atomically replaces the target. A killed process never leaves a half-written aspect behind.
+    private static void writeModel(Model model, Path target, String header, FileTimings timings, Deadline deadline) throws IOException {
+        long start = System.nanoTime();
+        long serializeNanos = 0;
+        Path directory = target.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(directory, "." + target.getFileName(), ".tmp");
+        try {
+            // Temporary files are private to the owner, keep the permissions the aspect file had
+            if (Files.exists(target)) {
+                try {
+                    Files.setPosixFilePermissions(temp, Files.getPosixFilePermissions(target));
+                } catch (UnsupportedOperationException e) {
+                    // not a POSIX file system, the default permissions apply
+                }
+            }
+            try (Writer out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                long serializeStart = System.nanoTime();
+                writeTurtle(model, out, header, deadline);
+                serializeNanos = System.nanoTime() - serializeStart;
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        if (timings != null) {
+            timings.addNanos(FileTimings.Phase.SERIALIZE, serializeNanos);
+            timings.addNanos(FileTimings.Phase.COPYRIGHT_WRITE, System.nanoTime() - start - serializeNanos);
+        }
+    }
+
+    // Function to pretty print the model as Turtle to any writer, e.g. a network response, with the header
+    // (if not null) in front. The writer is flushed but not closed.
+    public static void writeTurtle(Model model, Writer out, String header) throws IOException {
+        writeTurtle(model, out, header, Deadline.NONE);
+    }
+
+    // Same as above, stopping with a timeout once the deadline has passed
+    static void writeTurtle(Model model, Writer out, String header, Deadline deadline) throws IOException {
+        EmptyListWriter filtered = new EmptyListWriter(out);
+        if (header != null) {
+            filtered.write(header);
+        }
+        RDFWriter writer = Rio.createWriter(RDFFormat.TURTLE, filtered);
+        writer.getWriterConfig().set(BasicWriterSettings.PRETTY_PRINT, true);
+        writer.getWriterConfig().set(BasicWriterSettings.INLINE_BLANK_NODES, true);
+        try {
+            Rio.write(model, deadline.wrap(writer, "serialize"));
+        } catch (RDFHandlerException e) {
+            if (e.getCause() instanceof ValidationFailure) {
+                throw (ValidationFailure) e.getCause();
+            }
+            throw e;
+        }
+        filtered.finish();
+    }
+
+    // Writer that turns the rdf:nil the Turtle writer emits for empty samm:operations and samm:events lists
+    // into "()" while the text passes through, instead of rereading and rewriting the saved file. Text inside
+    // string literals is never changed: the writer escapes every quote within a literal, so each unescaped
+    // quote opens or closes one, the three of a long string included.
+    static class EmptyListWriter extends FilterWriter {
+        private static final String[] PATTERNS = {
+            "samm:operations rdf:nil", "samm:events rdf:nil",
+            "samm:operations <" + RDF.NIL + ">", "samm:events <" + RDF.NIL + ">"
+        };
+        private static final String[] REPLACEMENTS = {
+            "samm:operations ()", "samm:events ()", "samm:operations ()", "samm:events ()"
+        };
+
+        // Characters that may still turn out to be the start of a pattern
+        private final StringBuilder pending = new StringBuilder();
+        // Strings, and chunks following pending characters, are copied here to be filtered
+        private char[] chars = new char[1024];
+        private boolean inLiteral;
+        // Whether the last character written was the backslash of an escape inside a literal
+        private boolean escaped;
+
+        EmptyListWriter(Writer out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            write(new char[] {(char) c}, 0, 1);
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) throws IOException {
+            if (pending.length() == 0) {
+                filter(buffer, offset, length);
+                return;
+            }
+            // A possible pattern started in an earlier chunk, filter it again together with this one
+            int start = takePending(length);
+            System.arraycopy(buffer, offset, chars, start, length);
+            filter(chars, 0, start + length);
+        }
+
+        @Override
+        public void write(String text, int offset, int length) throws IOException {
+            int start = takePending(length);
+            text.getChars(offset, offset + length, chars, start);
+            filter(chars, 0, start + length);
+        }
+
+        // Moves the pending characters to the front of chars, made large enough for the next chunk behind them
+        private int takePending(int length) {
+            int start = pending.length();
+            if (chars.length < start + length) {
+                chars = new char[Math.max(start + length, 2 * chars.length)];
+            }
+            pending.getChars(0, start, chars, 0);
+            pending.setLength(0);
+            return start;
+        }
+
+        private void filter(char[] buffer, int offset, int length) throws IOException {
+            int end = offset + length;
+            int i = offset;
+            while (i < end) {
+                if (inLiteral) {
+                    // The literal goes through as it is, up to and including its closing quote
+                    int close = closingQuote(buffer, i, end);
+                    if (close < 0) {
+                        out.write(buffer, i, end - i);
+                        return;
+                    }
+                    out.write(buffer, i, close + 1 - i);
+                    inLiteral = false;
+                    i = close + 1;
+                    continue;
+                }
+                // Every pattern starts with 's', the text up to the next one or to the next literal can go through as it is
+                int candidate = indexOfCandidate(buffer, i, end);
+                if (candidate < 0) {
+                    out.write(buffer, i, end - i);
+                    return;
+                }
+                out.write(buffer, i, candidate - i);
+                if (buffer[candidate] == '"') {
+                    out.write('"');
+                    inLiteral = true;
+                    i = candidate + 1;
+                    continue;
+                }
+                int match = matchAt(buffer, candidate, end);
+                if (match >= 0) {
+                    out.write(REPLACEMENTS[match]);
+                    logger.fine("removed rdf:nil");
+                    i = candidate + PATTERNS[match].length();
+                } else if (match == -2) {
+                    // The chunk ends inside a possible pattern, keep only that part for the next chunk
+                    pending.append(buffer, candidate, end - candidate);
+                    return;
+                } else {
+                    out.write('s');
+                    i = candidate + 1;
+                }
+            }
+        }
+
+        private static int indexOfCandidate(char[] buffer, int from, int end) {
+            for (int i = from; i < end; i++) {
+                if (buffer[i] == 's' || buffer[i] == '"') {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        // Returns the index of the quote that closes the current literal, -1 if it is not closed in this chunk
+        private int closingQuote(char[] buffer, int from, int end) {
+            for (int i = from; i < end; i++) {
+                if (escaped) {
+                    escaped = false;
+                } else if (buffer[i] == '\\') {
+                    escaped = true;
+                } else if (buffer[i] == '"') {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        // Returns the index of the pattern starting at start, -2 if the chunk ends in a prefix of a pattern, otherwise -1
+        private static int matchAt(char[] buffer, int start, int end) {
+            int result = -1;
+            for (int p = 0; p < PATTERNS.length; p++) {
+                String pattern = PATTERNS[p];
+                int length = Math.min(pattern.length(), end - start);
+                boolean prefix = true;
+                for (int i = 0; i < length && prefix; i++) {
+                    prefix = buffer[start + i] == pattern.charAt(i);
+                }
+                if (prefix) {
+                    if (length == pattern.length()) {
+                        return p;
+                    }
+                    result = -2;
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        // Writes what is still pending and flushes, leaving the underlying writer open
+        void finish() throws IOException {
+            out.write(pending.toString());
+            pending.setLength(0);
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            finish();
+            out.close();
+        }
+    }
+
  // Function to check and modify description
     public static Value checkAndModifyDescription(Value description, Statement stmt ) {
     	
@@ -191,30 +464,39 @@ public class RDFUtils {
         Literal descriptionLit = (Literal) description;
         Optional<String> langTag =  descriptionLit.getLanguage();
 
-        // Capitalize the first letter if it is lowercase
-        if (Character.isLowerCase(descriptionStr.charAt(0))) {
-        	descriptionStr = Character.toUpperCase(descriptionStr.charAt(0)) + descriptionStr.substring(1);
+        // All fixes are decided on the original text first, so a compliant description is returned
+        // as it is and a non-compliant one is built in a single StringBuilder.
+
+        // Remove leading articles and capitalize the noun. The article is skipped if nothing follows it.
+        int start = 0;
+        for (String article : ARTICLES) {
+            if (descriptionStr.length() > article.length() && descriptionStr.regionMatches(true, 0, article, 0, article.length())) {
+                start = article.length();
+                break;
+            }
         }
 
+        // Capitalize the first letter if it is lowercase
+        char first = descriptionStr.charAt(start);
+        boolean capitalize = (start > 0) ? Character.toUpperCase(first) != first : Character.isLowerCase(first);
+
         // Ensure the sentence ends with a dot if the last character is a letter or a number
         char lastChar = descriptionStr.charAt(descriptionStr.length() - 1);
-        if (lastChar != '.' && (Character.isLetterOrDigit(lastChar))) {
-        	descriptionStr += ".";
-        }
+        boolean addDot = lastChar != '.' && Character.isLetterOrDigit(lastChar);
 
-        // Remove leading articles and capitalize the noun
-        String[] articles = {"the ", "a ", "an "};
-        for (String article : articles) {
-            if (descriptionStr.toLowerCase().startsWith(article)) {
-            	descriptionStr = descriptionStr.substring(article.length());
-            	descriptionStr = Character.toUpperCase(descriptionStr.charAt(0)) + descriptionStr.substring(1);
-                break;
-            }
+        if (start == 0 && !capitalize && !addDot) {
+            return description;
         }
-        
+        StringBuilder modified = new StringBuilder(descriptionStr.length() - start + 1);
+        modified.append(capitalize ? Character.toUpperCase(first) : first);
+        modified.append(descriptionStr, start + 1, descriptionStr.length());
+        if (addDot) {
+            modified.append('.');
+        }
+        descriptionStr = modified.toString();
       
         Literal literal;
-        if (langTag != null) {
+        if (langTag.isPresent()) {
         	// Create a literal with the language tag
             literal = valueFactory.createLiteral(descriptionStr, langTag.get());
 		} else {
@@ -231,9 +513,7 @@ public class RDFUtils {
             return false;
         }
 
-        // Regular expression to match acronyms that are separated by spaces or punctuation
-        Pattern pattern = Pattern.compile("\\b[A-Z]{2,}\\b");
-        Matcher matcher = pattern.matcher(text);
+        Matcher matcher = ACRONYM.matcher(text);
         return matcher.find();
     }
     
@@ -245,9 +525,7 @@ public class RDFUtils {
 	         return text;
 	     }
 	
-	     // Regular expression to match acronyms that are separated by spaces or punctuation
-	     Pattern pattern = Pattern.compile("\\b[A-Z]{2,}\\b");
-	     Matcher matcher = pattern.matcher(text);
+	     Matcher matcher = ACRONYM.matcher(text);
 	
 	     if (matcher.find()) {
 	         String acronym = matcher.group();
@@ -261,7 +539,7 @@ public class RDFUtils {
 
 
 	// Function to normalize a string by converting to lowercase and removing the period at the end
-	 private static String normalizeValue(String value) {
+	 static String normalizeValue(String value) {
 	     if (value == null || value.isEmpty()) {
 	         return value;
 	     }
@@ -272,121 +550,32 @@ public class RDFUtils {
 	     return value;
 	 }
 
-	 // Updated checkRequiredProperties function
-	 public static void checkRequiredProperties(Model model, Logger logger, String foundUrn) {
-	     for (Statement stmt : model) {
-	         String subject = stmt.getSubject().stringValue();
-	         String predicate = stmt.getPredicate().stringValue();
-	         String object = stmt.getObject().stringValue();
-
-	         if (predicate.equals(foundUrn+"#preferredName") && (object == null || object.isEmpty())) {
-	             logger.warning("Missing preferredName for entity: " + subject);
-	         }
-
-	         if (predicate.equals(foundUrn+"#description") && (object == null || object.isEmpty())) {
-	             logger.warning("Missing description for entity: " + subject);
-	         }
-
-	         // Check if preferredName and description are equal after normalization
-	         if (predicate.equals(foundUrn+"#preferredName")) {
-	             String preferredName = object;
-	             for (Statement descStmt : model.filter(stmt.getSubject(), valueFactory.createIRI(foundUrn+"#description"), null)) {
-	                 String description = descStmt.getObject().stringValue();
-	                 if (normalizeValue(preferredName).equals(normalizeValue(description))) {
-	                     logger.warning("Normalized preferredName and description are equal for entity: " + subject);
-	                     
-	                 }
-	             }
-	         }
-	     }
+	 // Updated checkRequiredProperties function, returns the number of warnings logged.
+	 // The checks are implemented by RequiredPropertiesRule and PreferredNameDescriptionRule,
+	 // this runs them on their own over the model.
+	 public static int checkRequiredProperties(Model model, Logger logger, String foundUrn) {
+	     SammVocabulary vocabulary = SammVocabulary.forUrn(foundUrn);
+	     return runRules(List.of(new RequiredPropertiesRule(vocabulary), new PreferredNameDescriptionRule(vocabulary)), model, logger, vocabulary);
 	 }
-	 
-	// Assuming primitiveDatatypes is a static Set defined elsewhere in your class
-	    // Example for demonstration:
-	    private static final Set<String> primitiveDatatypes = new HashSet<>();
-	    static {
-	        primitiveDatatypes.add("http://www.w3.org/2001/XMLSchema#string");
-	        primitiveDatatypes.add("http://www.w3.org/2001/XMLSchema#integer");
-	        primitiveDatatypes.add("http://www.w3.org/2001/XMLSchema#double");
-	        primitiveDatatypes.add("http://www.w3.org/2001/XMLSchema#boolean");
-	        // Add other XSD primitive types as needed
-	    }
-    
-
 
+	 private static int runRules(List<Rule> rules, Model model, Logger logger, SammVocabulary vocabulary) {
+	     RuleContext context = new RuleContext(vocabulary, model, logger);
+	     new RuleEngine(rules).run(model, context);
+	     return context.getFindings().size();
+	 }
+	 
 	 /**
 	     * Function to validate example value for properties with primitive datatype characteristics.
+	     * The check is implemented by {@link ExampleValueRule}, this runs it on its own over the model.
 	     *
 	     * @param model    The RDF4J Model to validate.
 	     * @param logger   The Logger instance for logging messages.
 	     * @param foundUrn The highest SAMM meta-model URN found in the file (e.g., "urn:samm:org.eclipse.esmf.samm:meta-model:2.1.0#").
+	     * @return The number of properties reported with a missing or invalid example value.
 	     */
-	    public static void validateExampleValue(Model model, Logger logger, String foundUrn) {
-	        logger.info("Starting validation for example values."); // Changed to info for less verbose output
-	        // --- Corrected IRIs for SAMM classes and properties ---
-	        // These are crucial to ensure you're matching the IRIs as defined in your TTL.
-	        // The foundUrn should already end with '#' or '/'
-	        IRI sammCharacteristicIRI = valueFactory.createIRI(foundUrn + "Characteristic");
-	        IRI sammDataTypeIRI = valueFactory.createIRI(foundUrn + "dataType");
-	        IRI sammExampleValueIRI = valueFactory.createIRI(foundUrn + "exampleValue");
-
-	        // 1. Find all statements where the object is 'samm:Characteristic'
-	        // This means 'subject a samm:Characteristic .'
-	        for (Statement stmt : model.filter(null, RDF.TYPE, sammCharacteristicIRI)) {
-	            Resource characteristicSubject = stmt.getSubject(); // This is the characteristic's IRI (e.g., :EconomicOperatorIdCharacteristic)
-	                                                              // Your original code used 'property' here, but it's the Characteristic itself.
-	            logger.fine("Processing characteristic subject: " + characteristicSubject.stringValue()); // Use fine for detailed logs
-	            // 2. Check if this characteristic (characteristicSubject) has a primitive datatype
-	            boolean hasPrimitiveDatatype = false;
-	            // Iterate through statements where 'characteristicSubject' has 'samm:dataType'
-	            for (Statement charDataTypeStmt : model.filter(characteristicSubject, sammDataTypeIRI, null)) {
-	                Value dataTypeObject = charDataTypeStmt.getObject(); // This is the datatype (e.g., xsd:string)
-
-	                logger.fine("  Found dataType for " + characteristicSubject.stringValue() + ": " + dataTypeObject.stringValue());
-
-	                // Check if the dataTypeObject (e.g., xsd:string) is one of the primitive types
-	                if (primitiveDatatypes.contains(dataTypeObject.stringValue())) {
-	                    hasPrimitiveDatatype = true;
-	                    logger.fine("  Is primitive datatype: " + dataTypeObject.stringValue());
-	                    break; // Found a primitive datatype, no need to check further for this characteristic
-	                }
-	            }
-
-	            // 3. If the characteristic has a primitive datatype, check for exampleValue on its associated Property
-	            // Your original logic implied that 'property' was the subject of the original 'rdf:type samm:Characteristic' statement.
-	            // However, it's more common for a 'samm:Property' to *have* a 'samm:Characteristic', not *be* a 'samm:Characteristic'.
-	            // Re-evaluating the structure from your TTL:
-	            // :identification a samm:Property ; samm:characteristic :IdentificationCharacteristic .
-	            // Here, :identification is the Property, and :IdentificationCharacteristic is its Characteristic.
-	            // So, if :IdentificationCharacteristic is found as a samm:Characteristic and has a primitive type,
-	            // we need to find the Property that *uses* this characteristic.
-
-	            // This requires an additional step: finding the samm:Property that links to this characteristic
-	            // We search for statements like `property samm:characteristic characteristicSubject .`
-	            // You'll need the IRI for 'samm:characteristic'
-	            IRI sammCharacteristicPropertyIRI = valueFactory.createIRI(foundUrn + "characteristic"); // This is the property link, not the class!
-
-	            // Find properties that *use* this characteristic
-	            for(Statement propUsesCharStmt : model.filter(null, sammCharacteristicPropertyIRI, characteristicSubject)) {
-	                Resource associatedProperty = propUsesCharStmt.getSubject(); // This is the :identification property
-
-	                if (hasPrimitiveDatatype) {
-	                    // Check if the associated property has samm:exampleValue
-	                    boolean hasExampleValue = model.contains(associatedProperty, sammExampleValueIRI, null);
-	                    if (!hasExampleValue) {
-	                        logger.warning("Missing 'samm:exampleValue' for property '" + associatedProperty.stringValue() +
-	                                       "' which uses primitive datatype characteristic '" + characteristicSubject.stringValue() + "'.");
-	                    } else {
-	                        logger.info("Property '" + associatedProperty.stringValue() + "' (using primitive characteristic '" +
-	                                    characteristicSubject.stringValue() + "') has 'samm:exampleValue'. Validation OK.");
-	                    }
-	                } else {
-	                    logger.fine("Characteristic '" + characteristicSubject.stringValue() +
-	                                "' (used by property '" + associatedProperty.stringValue() + "') does NOT have a primitive datatype.");
-	                }
-	            }
-	        }
-	        logger.info("Validation for example values completed.");
+	    public static int validateExampleValue(Model model, Logger logger, String foundUrn) {
+	        SammVocabulary vocabulary = SammVocabulary.forUrn(foundUrn);
+	        return runRules(List.of(new ExampleValueRule(vocabulary)), model, logger, vocabulary);
 	    }
 	
 	public static String checkCopyrightYear(String ttlFilePath) {
@@ -411,42 +600,109 @@ public class RDFUtils {
 	    // Return null if no match is found
 	    return null;
 	}//end of checkCopyrightYear
+
+	private static final byte[] COPYRIGHT_MARKER = "Copyright (c) 20".getBytes(StandardCharsets.US_ASCII);
+
+	// Same as checkCopyrightYear(String), but scans the already loaded file content
+	// for "Copyright (c) 20XX" byte by byte instead of reading and decoding the file again
+	public static String checkCopyrightYear(ByteBuffer content) {
+	    int end = content.limit() - COPYRIGHT_MARKER.length - 2;
+	    for (int i = content.position(); i <= end; i++) {
+	        int j = 0;
+	        while (j < COPYRIGHT_MARKER.length && content.get(i + j) == COPYRIGHT_MARKER[j]) {
+	            j++;
+	        }
+	        if (j == COPYRIGHT_MARKER.length) {
+	            byte tens = content.get(i + j);
+	            byte units = content.get(i + j + 1);
+	            if (tens >= '0' && tens <= '9' && units >= '0' && units <= '9') {
+	                return "20" + (char) tens + (char) units;
+	            }
+	        }
+	    }
+	    // Return null if no match is found
+	    return null;
+	}
 	
 	//function to check if accronyms are present
 	
 
 
+	// Lower-cases the first letter of every capitalized word, except acronyms and words containing one of
+	// _-+.^:, and joins the words with single spaces. The text is scanned once; a compliant input is
+	// returned as the same instance and a StringBuilder is only created at the first difference.
 	public static String modifyCapitalizedWords(String input) {
-	    // Split the input into words based on whitespace
-	    String[] words = input.split("\\s+");
-	    StringBuilder result = new StringBuilder();
-	
-	    for (String word : words) {
-	        if (word.isEmpty()) {
-	            continue;
+	    int length = input.length();
+	    StringBuilder result = null;
+	    int i = 0;
+	    while (i < length) {
+	        // Skip the whitespace in front of the word, as split("\\s+") followed by trim() does
+	        int gapStart = i;
+	        while (i < length && isWhitespace(input.charAt(i))) {
+	            i++;
+	        }
+	        if (i == length) {
+	            if (result == null && gapStart < length) {
+	                result = new StringBuilder(length).append(input, 0, gapStart);
+	            }
+	            break;
+	        }
+	        int wordStart = i;
+	        while (i < length && !isWhitespace(input.charAt(i))) {
+	            i++;
 	        }
-	        // Check if the word begins with a capital letter
-	        if (Character.isUpperCase(word.charAt(0))) {
-	            // Exception 1: Keep word as is if it is an acronym (length > 1 and all uppercase)
-	            if (word.length() > 1 && word.equals(word.toUpperCase())) {
-	                result.append(word).append(" ");
-	                continue;
+	        // The only separator kept is a single space between two words
+	        boolean separatorKept = (gapStart == 0) ? wordStart == 0 : wordStart - gapStart == 1 && input.charAt(gapStart) == ' ';
+	        boolean lowerFirst = isLowerCaseCandidate(input, wordStart, i);
+	        if (result == null && (!separatorKept || lowerFirst)) {
+	            result = new StringBuilder(length).append(input, 0, gapStart);
+	        }
+	        if (result != null) {
+	            if (result.length() > 0) {
+	                result.append(' ');
 	            }
-	            // Exception 2: Keep word as is if it contains any of these special characters: [_\-+.^:,]
-	            if (word.matches(".*[\\_\\-\\+\\.\\^:,].*")) {
-	                result.append(word).append(" ");
-	                continue;
+	            if (lowerFirst) {
+	                result.append(Character.toLowerCase(input.charAt(wordStart))).append(input, wordStart + 1, i);
+	            } else {
+	                result.append(input, wordStart, i);
 	            }
-	            // Otherwise, change only the first character to lower case
-	            String modified = Character.toLowerCase(word.charAt(0)) + word.substring(1);
-	            result.append(modified).append(" ");
-	        } else {
-	            // If word does not begin with a capital letter, keep it as is
-	            result.append(word).append(" ");
 	        }
 	    }
-	    // Return the processed string trimmed from extra spaces
-	    return result.toString().trim();
+	    return (result == null) ? input : result.toString();
+	}
+
+	// The characters matched by \\s
+	private static boolean isWhitespace(char c) {
+	    return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+	}
+
+	// Whether the first character of the word is a capital that has to be lower-cased
+	private static boolean isLowerCaseCandidate(String input, int start, int end) {
+	    // Check if the word begins with a capital letter
+	    if (!Character.isUpperCase(input.charAt(start))) {
+	        return false;
+	    }
+	    boolean acronym = end - start > 1;
+	    boolean needsFullCheck = false;
+	    for (int i = start; i < end; i++) {
+	        char c = input.charAt(i);
+	        // Exception 2: Keep word as is if it contains any of these special characters: [_\-+.^:,]
+	        if (c == '_' || c == '-' || c == '+' || c == '.' || c == '^' || c == ':' || c == ',') {
+	            return false;
+	        }
+	        if (Character.toUpperCase(c) != c) {
+	            acronym = false;
+	        } else if (Character.isLowerCase(c) || Character.isSurrogate(c)) {
+	            // e.g. a sharp s, which only upper-cases as a whole string
+	            needsFullCheck = true;
+	        }
+	    }
+	    if (acronym && needsFullCheck) {
+	        String word = input.substring(start, end);
+	        acronym = word.equals(word.toUpperCase());
+	    }
+	    // Exception 1: Keep word as is if it is an acronym (length > 1 and all uppercase)
+	    return !acronym;
 	}
 
 
@@ -0,0 +1,45 @@
+package com.bosch.bci.ramos;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import java.util.Set;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Statement;
+
+/**
+ * Warns about empty preferredName and description values.
+ */
+public class RequiredPropertiesRule implements Rule {
+   private final IRI preferredName;
+   private final IRI description;
+
+   public RequiredPropertiesRule( SammVocabulary vocabulary ) {
+      preferredName = vocabulary.preferredName;
+      description = vocabulary.description;
+   }
+
+   @Override
+   public String getId() {
+      return "required-properties";
+   }
+
+   @Override
+   public Set<IRI> getPredicates() {
+      return Set.of( preferredName, description );
+   }
+
+   @Override
+   public void onStatement( Statement stmt, RuleContext context ) {
+      if ( stmt.getObject().stringValue().isEmpty() ) {
+         boolean isPreferredName = stmt.getPredicate().equals( preferredName );
+         context.warn( stmt.getSubject(), getId(),
+               "Missing " + ( isPreferredName ? "preferredName" : "description" ) + " for entity: " + stmt.getSubject().stringValue() );
+      }
+   }
+}
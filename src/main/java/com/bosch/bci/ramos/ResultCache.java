@@ -0,0 +1,163 @@
+package com.bosch.bci.ramos;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.logging.Logger;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Persistent cache of validation results, so files that did not change since the last run are not parsed again.
+ * <p>
+ * An entry is keyed by the SHA-256 of the file content, the SAMM meta-model URN, the validator version,
+ * {@link RuleEngine#RULE_SET_VERSION} and whether the whole file was scanned for mixed SAMM versions, and in workspace mode the {@link WorkspaceIndex#getFingerprint() fingerprint}
+ * of the workspace; changing any of them simply leads to a miss. Each entry is one small JSON
+ * file, written to a temporary file and moved into place so concurrent workers never see a partial entry.
+ */
+public class ResultCache {
+   private static final Logger logger = Logger.getLogger( ResultCache.class.getName() );
+
+   /** The cache directory used when none is given on the command line. */
+   public static final Path DEFAULT_DIRECTORY = Paths.get( System.getProperty( "user.home" ), ".aspectvalidator", "cache", "results" );
+
+   /** The version of this validator, taken from the Maven metadata of the jar ("dev" when run from classes). */
+   public static final String VALIDATOR_VERSION = readValidatorVersion();
+
+   /**
+    * The stored result of one validation.
+    */
+   public static class Entry {
+      private final boolean clean;
+      private final List<Finding> findings;
+
+      /**
+       * @param clean true if the file needed no modification and already had its copyright notice, so it may be
+       *       left untouched when the entry is replayed in a run that fixes files
+       * @param findings the findings reported for the file
+       */
+      public Entry( boolean clean, List<Finding> findings ) {
+         this.clean = clean;
+         this.findings = Collections.unmodifiableList( new ArrayList<>( findings ) );
+      }
+
+      public boolean isClean() {
+         return clean;
+      }
+
+      public List<Finding> getFindings() {
+         return findings;
+      }
+   }
+
+   private final Path directory;
+
+   public ResultCache( Path directory ) throws IOException {
+      this.directory = directory;
+      Files.createDirectories( directory );
+   }
+
+   /**
+    * @return the cache key of a file validated against the given SAMM meta-model
+    */
+   public static String key( AspectSource source, String sammUrn ) {
+      return key( source, sammUrn, false, null );
+   }
+
+   /**
+    * @param fullVersionScan whether the whole file was scanned for SAMM URNs, which decides if mixed versions
+    *       are reported
+    * @param workspace the workspace the file is validated in, or null; its fingerprint is part of the key, since
+    *       findings may depend on the other files
+    * @return the cache key of a file validated against the given SAMM meta-model
+    */
+   public static String key( AspectSource source, String sammUrn, boolean fullVersionScan, WorkspaceIndex workspace ) {
+      String key = source.contentHash() + '\n' + sammUrn + '\n' + VALIDATOR_VERSION + '\n' + RuleEngine.RULE_SET_VERSION + '\n'
+            + fullVersionScan;
+      if ( workspace != null ) {
+         key += '\n' + workspace.getFingerprint();
+      }
+      return AspectSource.sha256( ByteBuffer.wrap( key.getBytes( StandardCharsets.UTF_8 ) ) );
+   }
+
+   public Optional<Entry> get( String key ) {
+      Path file = entryFile( key );
+      try {
+         JSONObject json = new JSONObject( Files.readString( file, StandardCharsets.UTF_8 ) );
+         List<Finding> findings = new ArrayList<>();
+         JSONArray array = json.getJSONArray( "findings" );
+         for ( int i = 0; i < array.length(); i++ ) {
+            findings.add( Finding.fromJson( array.getJSONObject( i ) ) );
+         }
+         return Optional.of( new Entry( json.getBoolean( "clean" ), findings ) );
+      } catch ( NoSuchFileException e ) {
+         return Optional.empty();
+      } catch ( IOException | JSONException | IllegalArgumentException e ) {
+         // A damaged entry is a miss, it is overwritten by the next put
+         logger.warning( "Ignoring unreadable cache entry " + file + ": " + e.getMessage() );
+         return Optional.empty();
+      }
+   }
+
+   public void put( String key, Entry entry ) {
+      JSONArray findings = new JSONArray();
+      for ( Finding finding : entry.getFindings() ) {
+         findings.put( finding.toJson() );
+      }
+      JSONObject json = new JSONObject();
+      json.put( "clean", entry.isClean() );
+      json.put( "findings", findings );
+
+      Path file = entryFile( key );
+      try {
+         Files.createDirectories( file.getParent() );
+         Path temp = Files.createTempFile( file.getParent(), key, ".tmp" );
+         try {
+            Files.writeString( temp, json.toString(), StandardCharsets.UTF_8 );
+            BackupStore.move( temp, file );
+         } finally {
+            Files.deleteIfExists( temp );
+         }
+      } catch ( IOException e ) {
+         // The cache is an optimization only, the validation result is still reported
+         logger.warning( "Could not write cache entry " + file + ": " + e.getMessage() );
+      }
+   }
+
+   private Path entryFile( String key ) {
+      // Two-level layout keeps directories small for large repositories
+      return directory.resolve( key.substring( 0, 2 ) ).resolve( key + ".json" );
+   }
+
+   private static String readValidatorVersion() {
+      try ( InputStream in = ResultCache.class.getResourceAsStream( "/META-INF/maven/com.bosch.ramos/AspectValidator/pom.properties" ) ) {
+         if ( in != null ) {
+            Properties properties = new Properties();
+            properties.load( in );
+            return properties.getProperty( "version", "dev" );
+         }
+      } catch ( IOException e ) {
+         // fall through to the development version
+      }
+      return "dev";
+   }
+}
@@ -0,0 +1,44 @@
+package com.bosch.bci.ramos;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import java.util.Set;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Statement;
+
+/**
+ * A guideline check run by the {@link RuleEngine}.
+ * <p>
+ * A rule declares the predicates it is interested in and only receives statements with one of them, so all rules
+ * share a single traversal of the model. Checks that need more than one statement collect what they need in
+ * {@link #onStatement} and report in {@link #finish}. A rule instance is used for one file only.
+ */
+public interface Rule {
+
+   /**
+    * @return the id used in findings, e.g. "preferred-name"
+    */
+   String getId();
+
+   /**
+    * @return the predicates of the statements this rule is dispatched
+    */
+   Set<IRI> getPredicates();
+
+   /**
+    * Called once for every statement whose predicate is one of {@link #getPredicates()}.
+    */
+   void onStatement( Statement statement, RuleContext context );
+
+   /**
+    * Called after the last statement, for checks that span several statements.
+    */
+   default void finish( RuleContext context ) {
+   }
+}
@@ -0,0 +1,146 @@
+package com.bosch.bci.ramos;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+
+/**
+ * Per-file state shared by the rules of one {@link RuleEngine} run: the findings reported so far and the
+ * statements whose object a rule wants to replace.
+ */
+public class RuleContext {
+   private final SammVocabulary vocabulary;
+   private final Model model;
+   private final Logger logger;
+   private LiteralTransformCache literalCache = LiteralTransformCache.DISABLED;
+   private FileTimings timings;
+   private WorkspaceIndex workspace;
+   private final List<Finding> findings = new ArrayList<>();
+   private final Map<Statement, Value> replacements = new LinkedHashMap<>();
+
+   /**
+    * Creates the context of a file without literal cache, timings and workspace; set those before the rules run.
+    *
+    * @param vocabulary the SAMM vocabulary of the meta-model version used by the file
+    * @param model the model being validated, or null when the statements are streamed from the parser and
+    *       replacements are only reported
+    * @param logger the logger findings are written to
+    */
+   public RuleContext( SammVocabulary vocabulary, Model model, Logger logger ) {
+      this.vocabulary = vocabulary;
+      this.model = model;
+      this.logger = logger;
+   }
+
+   public SammVocabulary getVocabulary() {
+      return vocabulary;
+   }
+
+   /**
+    * @return the model being validated, or null in report-only mode
+    */
+   public Model getModel() {
+      return model;
+   }
+
+   public Logger getLogger() {
+      return logger;
+   }
+
+   public LiteralTransformCache getLiteralCache() {
+      return literalCache;
+   }
+
+   /**
+    * @param literalCache the preferredName and description fixes shared with the other files of the run
+    */
+   public void setLiteralCache( LiteralTransformCache literalCache ) {
+      this.literalCache = literalCache;
+   }
+
+   /**
+    * @return the timings of the file, or null if the run is not instrumented
+    */
+   public FileTimings getTimings() {
+      return timings;
+   }
+
+   /**
+    * @param timings where the statements and, if enabled, the time of every rule are counted, or null
+    */
+   public void setTimings( FileTimings timings ) {
+      this.timings = timings;
+   }
+
+   /**
+    * @return the index of the workspace the file belongs to, or null if the file is validated on its own
+    */
+   public WorkspaceIndex getWorkspace() {
+      return workspace;
+   }
+
+   /**
+    * @param workspace the other files of the workspace, for references to elements defined there, or null
+    */
+   public void setWorkspace( WorkspaceIndex workspace ) {
+      this.workspace = workspace;
+   }
+
+   /**
+    * Reports a guideline violation that is not fixed automatically.
+    */
+   public void warn( Resource subject, String rule, String message ) {
+      logger.warning( message );
+      findings.add( new Finding( subject == null ? null : subject.stringValue(), rule, Finding.Severity.WARNING, message, null, null ) );
+   }
+
+   /**
+    * Reports a guideline violation that is fixed by replacing the object of the statement. The model is not
+    * changed while it is traversed, see {@link #getReplacements()}.
+    */
+   public void replace( Statement statement, Value newObject, String rule, String message ) {
+      logger.info( message );
+      if ( model != null ) {
+         replacements.put( statement, newObject );
+      }
+      findings.add( new Finding( statement.getSubject().stringValue(), rule, Finding.Severity.WARNING, message,
+            statement.getObject().stringValue(), newObject.stringValue() ) );
+   }
+
+   public List<Finding> getFindings() {
+      return Collections.unmodifiableList( findings );
+   }
+
+   /**
+    * @return the statements to modify, mapped to their new object, in the order they were reported
+    */
+   public Map<Statement, Value> getReplacements() {
+      return Collections.unmodifiableMap( replacements );
+   }
+
+   /**
+    * Applies the collected replacements to the model.
+    */
+   public void applyReplacements() {
+      for ( Map.Entry<Statement, Value> replacement : replacements.entrySet() ) {
+         Statement stmt = replacement.getKey();
+         model.remove( stmt );
+         model.add( stmt.getSubject(), stmt.getPredicate(), replacement.getValue() );
+      }
+   }
+}
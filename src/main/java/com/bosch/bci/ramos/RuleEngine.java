@@ -0,0 +1,138 @@
+package com.bosch.bci.ramos;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Statement;
+
+/**
+ * Runs a set of {@link Rule}s over the statements of a model in a single traversal.
+ * <p>
+ * Every statement costs one hash lookup of its predicate; only the rules registered for that predicate are
+ * called. Adding a rule therefore does not add another scan over the model.
+ */
+public class RuleEngine {
+
+   /**
+    * The guideline rules applied to every aspect model, created per file from the vocabulary of its SAMM version.
+    */
+   public static final List<Function<SammVocabulary, Rule>> DEFAULT_RULES = List.of(
+         PreferredNameRule::new,
+         DescriptionRule::new,
+         RequiredPropertiesRule::new,
+         PreferredNameDescriptionRule::new,
+         ExampleValueRule::new );
+
+   /**
+    * Version of the behavior of {@link #DEFAULT_RULES}. Increase it whenever a rule changes what it reports or
+    * modifies, so cached results of earlier versions are no longer used.
+    */
+   public static final String RULE_SET_VERSION = "4";
+
+   private static final Rule[] NO_RULES = new Rule[0];
+
+   private final List<Rule> rules;
+   private final Map<IRI, Rule[]> rulesByPredicate = new HashMap<>();
+
+   public RuleEngine( List<Rule> rules ) {
+      this.rules = List.copyOf( rules );
+      Map<IRI, List<Rule>> registrations = new HashMap<>();
+      for ( Rule rule : this.rules ) {
+         for ( IRI predicate : rule.getPredicates() ) {
+            registrations.computeIfAbsent( predicate, key -> new ArrayList<>() ).add( rule );
+         }
+      }
+      registrations.forEach( ( predicate, registered ) -> rulesByPredicate.put( predicate, registered.toArray( NO_RULES ) ) );
+   }
+
+   /**
+    * @param vocabulary the SAMM vocabulary of the file to validate
+    * @return an engine with fresh instances of the {@link #DEFAULT_RULES}
+    */
+   public static RuleEngine withDefaultRules( SammVocabulary vocabulary ) {
+      List<Rule> rules = new ArrayList<>( DEFAULT_RULES.size() );
+      for ( Function<SammVocabulary, Rule> factory : DEFAULT_RULES ) {
+         rules.add( factory.apply( vocabulary ) );
+      }
+      return new RuleEngine( rules );
+   }
+
+   /**
+    * Dispatches a single statement to the rules registered for its predicate.
+    */
+   public void handleStatement( Statement statement, RuleContext context ) {
+      Rule[] registered = rulesByPredicate.getOrDefault( statement.getPredicate(), NO_RULES );
+      FileTimings timings = context.getTimings();
+      if ( timings == null ) {
+         for ( Rule rule : registered ) {
+            rule.onStatement( statement, context );
+         }
+         return;
+      }
+      timings.countStatement();
+      if ( !timings.isTimingRules() ) {
+         for ( Rule rule : registered ) {
+            rule.onStatement( statement, context );
+         }
+         return;
+      }
+      for ( Rule rule : registered ) {
+         long start = System.nanoTime();
+         rule.onStatement( statement, context );
+         timings.addRule( rule.getId(), System.nanoTime() - start );
+      }
+   }
+
+   /**
+    * Lets every rule report the checks that span several statements.
+    */
+   public void finish( RuleContext context ) {
+      FileTimings timings = context.getTimings();
+      boolean timed = timings != null && timings.isTimingRules();
+      for ( Rule rule : rules ) {
+         long start = timed ? System.nanoTime() : 0;
+         rule.finish( context );
+         if ( timed ) {
+            timings.addRule( rule.getId(), System.nanoTime() - start );
+         }
+      }
+   }
+
+   /**
+    * Traverses the statements once and finishes all rules.
+    */
+   public void run( Iterable<Statement> statements, RuleContext context ) {
+      for ( Statement statement : statements ) {
+         handleStatement( statement, context );
+      }
+      finish( context );
+   }
+
+   /**
+    * Traverses the statements once and finishes all rules, giving up once the deadline has passed.
+    *
+    * @throws ValidationFailure if the deadline passes while the rules run
+    */
+   public void run( Iterable<Statement> statements, RuleContext context, Deadline deadline ) throws ValidationFailure {
+      int count = 0;
+      for ( Statement statement : statements ) {
+         if ( ++count % Deadline.CHECK_INTERVAL == 0 ) {
+            deadline.check( "rules" );
+         }
+         handleStatement( statement, context );
+      }
+      deadline.check( "rules" );
+      finish( context );
+   }
+}
@@ -0,0 +1,47 @@
+package com.bosch.bci.ramos;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.rio.RDFHandlerException;
+import org.eclipse.rdf4j.rio.helpers.AbstractRDFHandler;
+
+/**
+ * Feeds statements to a {@link RuleEngine} as the parser produces them.
+ * <p>
+ * Used for report-only validation: no {@link org.eclipse.rdf4j.model.Model} is built, the only state kept is what
+ * the rules collect for their cross-statement checks, so heap use does not grow with the number of triples.
+ */
+public class RuleHandler extends AbstractRDFHandler {
+   private final RuleEngine engine;
+   private final RuleContext context;
+   private long statements;
+
+   public RuleHandler( RuleEngine engine, RuleContext context ) {
+      this.engine = engine;
+      this.context = context;
+   }
+
+   @Override
+   public void handleStatement( Statement statement ) throws RDFHandlerException {
+      statements++;
+      engine.handleStatement( statement, context );
+   }
+
+   @Override
+   public void endRDF() throws RDFHandlerException {
+      engine.finish( context );
+   }
+
+   /**
+    * @return the number of statements handled so far
+    */
+   public long getStatementCount() {
+      return statements;
+   }
+}
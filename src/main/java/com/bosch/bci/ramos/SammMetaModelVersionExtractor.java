@@ -1,56 +1,67 @@
 package com.bosch.bci.ramos;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Set;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Namespace;
+import org.eclipse.rdf4j.model.Statement;
 
 public class SammMetaModelVersionExtractor {
 
-    // Regex to capture the full SAMM meta-model URN, including the version.
-    // It handles cases like:
+    // Literal prefix of every SAMM meta-model URN. The version follows as X.Y.Z and is terminated by '#'.
+    // It is matched on the raw bytes, in any of these forms:
     // - <urn:samm:org.eclipse.esmf.samm:meta-model:2.2.0#>
     // - urn:samm:org.eclipse.esmf.samm:meta-model:2.2.0#
     // - "urn:samm:org.eclipse.esmf.samm:meta-model:2.2.0#"
-    // The key part is the capturing group for the URN: (urn:samm:org.eclipse.esmf.samm:meta-model:[0-9]+\\.[0-9]+\\.[0-9]+#)
-    private static final Pattern SAMM_META_MODEL_URN_PATTERN =
-            Pattern.compile(".*?(urn:samm:org\\.eclipse\\.esmf\\.samm:meta-model:([0-9]+)\\.([0-9]+)\\.([0-9]+)#).*?");
+    static final String SAMM_META_MODEL_PREFIX = "urn:samm:org.eclipse.esmf.samm:meta-model:";
+
+    private static final byte[] PREFIX_BYTES = SAMM_META_MODEL_PREFIX.getBytes(StandardCharsets.US_ASCII);
+
+    // Upper bound for a single version component, keeps the packed comparison key free of overflow
+    private static final int MAX_COMPONENT = (1 << 20) - 1;
 
     /**
-     * Represents a parsed version number for comparison.
+     * The distinct SAMM meta-model URNs found in a file, ordered from lowest to highest version.
      */
-    private static class Version implements Comparable<Version> {
-        final int major;
-        final int minor;
-        final int patch;
+    public static class Scan {
+        private final List<String> urns;
 
-        public Version(int major, int minor, int patch) {
-            this.major = major;
-            this.minor = minor;
-            this.patch = patch;
+        Scan(List<String> urns) {
+            this.urns = Collections.unmodifiableList(urns);
         }
 
-        @Override
-        public int compareTo(Version other) {
-            if (this.major != other.major) {
-                return Integer.compare(this.major, other.major);
-            }
-            if (this.minor != other.minor) {
-                return Integer.compare(this.minor, other.minor);
-            }
-            return Integer.compare(this.patch, other.patch);
+        /**
+         * @return every distinct meta-model URN found, lowest version first
+         */
+        public List<String> getUrns() {
+            return urns;
         }
 
-        @Override
-        public String toString() {
-            return major + "." + minor + "." + patch;
+        /**
+         * @return the URN with the highest version, if any was found
+         */
+        public Optional<String> getHighestUrn() {
+            return urns.isEmpty() ? Optional.empty() : Optional.of(urns.get(urns.size() - 1));
         }
-    }
 
+        /**
+         * @return true if the file refers to more than one SAMM meta-model version
+         */
+        public boolean isMixed() {
+            return urns.size() > 1;
+        }
+    }
 
     /**
      * Reads a .ttl file, extracts all SAMM meta-model URNs, and returns the one
@@ -67,32 +78,209 @@ public class SammMetaModelVersionExtractor {
             // Logger.getLogger(SammMetaModelVersionExtractor.class.getName()).warning("File not found: " + ttlFilePath);
             return Optional.empty();
         }
+        return scan(ByteBuffer.wrap(Files.readAllBytes(Paths.get(ttlFilePath))), true).getHighestUrn();
+    }
 
-        String highestUrnFound = null;
-        Version highestVersionFound = null;
-
-        try (BufferedReader reader = new BufferedReader(new FileReader(ttlFilePath))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                Matcher matcher = SAMM_META_MODEL_URN_PATTERN.matcher(line);
-                if (matcher.find()) {
-                    // Group 1 is the full URN: urn:samm:org.eclipse.esmf.samm:meta-model:X.Y.Z#
-                    String currentUrn = matcher.group(1);
-                    // Groups 2, 3, 4 are major, minor, patch respectively
-                    int major = Integer.parseInt(matcher.group(2));
-                    int minor = Integer.parseInt(matcher.group(3));
-                    int patch = Integer.parseInt(matcher.group(4));
+    /**
+     * Extracts the highest version SAMM meta-model URN from file content that is already in memory,
+     * so the file does not have to be read again. Only the prefix/header section is scanned, see
+     * {@link #scan(ByteBuffer, boolean)}.
+     *
+     * @param content The raw UTF-8 content of a .ttl file, see {@link AspectSource#buffer()}.
+     * @return An Optional containing the highest version SAMM meta-model URN if found,
+     *         otherwise an empty Optional.
+     */
+    public static Optional<String> getHighestSammMetaModelUrn(ByteBuffer content) {
+        return scan(content, false).getHighestUrn();
+    }
 
-                    Version currentVersion = new Version(major, minor, patch);
+    /**
+     * Scans the raw bytes of a .ttl file for SAMM meta-model URNs.
+     * <p>
+     * Without {@code fullScan} the scan stops at the first line that is neither blank, a comment nor a
+     * {@code @prefix}/{@code @base}/{@code PREFIX}/{@code BASE} declaration, because that is where the
+     * namespaces of an aspect are declared. If the header declares no SAMM namespace the rest of the
+     * content is scanned as well, so files using full IRIs in the body are still detected.
+     *
+     * @param content The raw UTF-8 content of a .ttl file. Its position is not changed.
+     * @param fullScan Whether the whole content is scanned even after the header section.
+     * @return The distinct URNs found.
+     */
+    public static Scan scan(ByteBuffer content, boolean fullScan) {
+        // Distinct versions packed as major << 40 | minor << 20 | patch, kept sorted
+        long[] versions = new long[2];
+        int count = 0;
 
-                    if (highestVersionFound == null || currentVersion.compareTo(highestVersionFound) > 0) {
-                        highestVersionFound = currentVersion;
-                        highestUrnFound = currentUrn;
+        int limit = content.limit();
+        int lastPrefixStart = limit - PREFIX_BYTES.length;
+        boolean lineStart = true;
+        boolean inHeader = true;
+        int i = content.position();
+        while (i < limit) {
+            byte b = content.get(i);
+            if (b == '\n' || b == '\r') {
+                lineStart = true;
+                i++;
+                continue;
+            }
+            if (lineStart) {
+                if (b == ' ' || b == '\t') {
+                    i++;
+                    continue;
+                }
+                lineStart = false;
+                if (inHeader && !isHeaderLine(content, i, limit)) {
+                    inHeader = false;
+                    if (!fullScan && count > 0) {
+                        break;
                     }
                 }
             }
+            if (b == 'u' && i <= lastPrefixStart && startsWith(content, i, PREFIX_BYTES)) {
+                int end = i + PREFIX_BYTES.length;
+                long packed = 0;
+                int components = 0;
+                int value = -1;
+                while (end < limit) {
+                    byte c = content.get(end);
+                    if (c >= '0' && c <= '9') {
+                        value = (value < 0 ? 0 : value) * 10 + (c - '0');
+                        if (value > MAX_COMPONENT) {
+                            break;
+                        }
+                    } else if ((c == '.' && components < 2 || c == '#' && components == 2) && value >= 0) {
+                        packed = (packed << 20) | value;
+                        components++;
+                        value = -1;
+                        if (c == '#') {
+                            break;
+                        }
+                    } else {
+                        break;
+                    }
+                    end++;
+                }
+                if (components == 3 && end < limit && content.get(end) == '#') {
+                    int index = binarySearch(versions, count, packed);
+                    if (index < 0) {
+                        index = -index - 1;
+                        if (count == versions.length) {
+                            long[] grown = new long[count * 2];
+                            System.arraycopy(versions, 0, grown, 0, count);
+                            versions = grown;
+                        }
+                        System.arraycopy(versions, index, versions, index + 1, count - index);
+                        versions[index] = packed;
+                        count++;
+                    }
+                    i = end + 1;
+                    continue;
+                }
+            }
+            i++;
         }
 
-        return Optional.ofNullable(highestUrnFound);
+        List<String> urns = new ArrayList<>(count);
+        for (int v = 0; v < count; v++) {
+            long packed = versions[v];
+            urns.add(SAMM_META_MODEL_PREFIX + (packed >>> 40) + "." + ((packed >>> 20) & MAX_COMPONENT) + "."
+                    + (packed & MAX_COMPONENT) + "#");
+        }
+        return new Scan(urns);
+    }
+
+    /**
+     * Collects the SAMM meta-model URNs of a model that is already parsed: its namespace declarations and the
+     * namespaces of every predicate and IRI object.
+     *
+     * @param model The model to scan.
+     * @return The distinct URNs found.
+     */
+    public static Scan scan(Model model) {
+        Set<String> namespaces = new LinkedHashSet<>();
+        for (Namespace namespace : model.getNamespaces()) {
+            addSammNamespace(namespaces, namespace.getName());
+        }
+        for (Statement statement : model) {
+            addSammNamespace(namespaces, statement.getPredicate().getNamespace());
+            if (statement.getObject() instanceof IRI) {
+                addSammNamespace(namespaces, ((IRI) statement.getObject()).getNamespace());
+            }
+        }
+        // The namespaces are few; scanning them as text keeps a single definition of a valid version
+        StringBuilder text = new StringBuilder();
+        for (String namespace : namespaces) {
+            text.append(namespace).append('\n');
+        }
+        return scan(ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.UTF_8)), true);
+    }
+
+    private static void addSammNamespace(Set<String> namespaces, String namespace) {
+        if (namespace.startsWith(SAMM_META_MODEL_PREFIX)) {
+            namespaces.add(namespace);
+        }
+    }
+
+    // A header line is a comment or a prefix/base declaration in either Turtle or SPARQL syntax
+    private static boolean isHeaderLine(ByteBuffer content, int i, int limit) {
+        byte b = content.get(i);
+        if (b == '#') {
+            return true;
+        }
+        if (b == '@') {
+            return startsWith(content, i + 1, "prefix", limit) || startsWith(content, i + 1, "base", limit);
+        }
+        return startsWithIgnoreCase(content, i, "PREFIX", limit) || startsWithIgnoreCase(content, i, "BASE", limit);
+    }
+
+    private static boolean startsWith(ByteBuffer content, int i, byte[] expected) {
+        for (int j = 0; j < expected.length; j++) {
+            if (content.get(i + j) != expected[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean startsWith(ByteBuffer content, int i, String expected, int limit) {
+        if (i + expected.length() > limit) {
+            return false;
+        }
+        for (int j = 0; j < expected.length(); j++) {
+            if (content.get(i + j) != expected.charAt(j)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean startsWithIgnoreCase(ByteBuffer content, int i, String expected, int limit) {
+        if (i + expected.length() >= limit) {
+            return false;
+        }
+        for (int j = 0; j < expected.length(); j++) {
+            if (Character.toUpperCase((char) content.get(i + j)) != expected.charAt(j)) {
+                return false;
+            }
+        }
+        // The keyword must be followed by whitespace, otherwise it is the start of a prefixed name
+        byte next = content.get(i + expected.length());
+        return next == ' ' || next == '\t';
+    }
+
+    private static int binarySearch(long[] values, int count, long key) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < key) {
+                low = mid + 1;
+            } else if (values[mid] > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
     }
 }
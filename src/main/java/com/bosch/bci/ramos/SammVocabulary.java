@@ -0,0 +1,121 @@
+package com.bosch.bci.ramos;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.XSD;
+
+/**
+ * The SAMM classes and properties of one meta-model version.
+ * <p>
+ * Instances are built once per meta-model URN and cached for the life of the process, so rules compare
+ * statements against the same IRI objects instead of concatenating strings from the URN for every statement.
+ */
+public class SammVocabulary {
+
+   private static final Map<String, SammVocabulary> VOCABULARIES = new ConcurrentHashMap<>();
+
+   /** The meta-model namespace, e.g. "urn:samm:org.eclipse.esmf.samm:meta-model:2.1.0#". */
+   public final String namespace;
+   /** The namespace of the predefined characteristics, e.g. "urn:samm:org.eclipse.esmf.samm:characteristic:2.1.0#". */
+   public final String characteristicNamespace;
+
+   // Classes
+   public final IRI aspect;
+   public final IRI property;
+   public final IRI entity;
+   public final IRI characteristicClass;
+
+   // Properties
+   public final IRI preferredName;
+   public final IRI description;
+   public final IRI properties;
+   public final IRI operations;
+   public final IRI events;
+   public final IRI characteristic;
+   public final IRI dataType;
+   public final IRI exampleValue;
+
+   // Datatypes
+   public final IRI curie;
+
+   // Characteristics
+   public final IRI trait;
+   public final IRI baseCharacteristic;
+   /** samm:Characteristic and the characteristic classes of the characteristic namespace, e.g. samm-c:Trait. */
+   public final Set<IRI> characteristicClasses;
+   /** The characteristic classes whose values are not one literal, e.g. samm-c:List or samm-c:Either. */
+   public final Set<IRI> multiValueCharacteristicClasses;
+   /** The characteristics predefined in the characteristic namespace, e.g. samm-c:Timestamp, with their datatype. */
+   public final Map<IRI, IRI> predefinedCharacteristics;
+
+   private SammVocabulary( String namespace ) {
+      this.namespace = namespace;
+      this.characteristicNamespace = namespace.replace( ":meta-model:", ":characteristic:" );
+
+      ValueFactory valueFactory = SimpleValueFactory.getInstance();
+      aspect = valueFactory.createIRI( namespace, "Aspect" );
+      property = valueFactory.createIRI( namespace, "Property" );
+      entity = valueFactory.createIRI( namespace, "Entity" );
+      characteristicClass = valueFactory.createIRI( namespace, "Characteristic" );
+
+      preferredName = valueFactory.createIRI( namespace, "preferredName" );
+      description = valueFactory.createIRI( namespace, "description" );
+      properties = valueFactory.createIRI( namespace, "properties" );
+      operations = valueFactory.createIRI( namespace, "operations" );
+      events = valueFactory.createIRI( namespace, "events" );
+      characteristic = valueFactory.createIRI( namespace, "characteristic" );
+      dataType = valueFactory.createIRI( namespace, "dataType" );
+      exampleValue = valueFactory.createIRI( namespace, "exampleValue" );
+
+      curie = valueFactory.createIRI( namespace, "curie" );
+
+      trait = valueFactory.createIRI( characteristicNamespace, "Trait" );
+      baseCharacteristic = valueFactory.createIRI( characteristicNamespace, "baseCharacteristic" );
+      Set<IRI> classes = new HashSet<>();
+      classes.add( characteristicClass );
+      for ( String name : new String[] { "Trait", "Quantifiable", "Measurement", "Enumeration", "State", "Duration", "Collection", "List",
+            "Set", "SortedSet", "TimeSeries", "Code", "Either", "SingleEntity", "StructuredValue" } ) {
+         classes.add( valueFactory.createIRI( characteristicNamespace, name ) );
+      }
+      characteristicClasses = Set.copyOf( classes );
+      Set<IRI> multiValueClasses = new HashSet<>();
+      for ( String name : new String[] { "Collection", "List", "Set", "SortedSet", "TimeSeries", "Either" } ) {
+         multiValueClasses.add( valueFactory.createIRI( characteristicNamespace, name ) );
+      }
+      multiValueCharacteristicClasses = Set.copyOf( multiValueClasses );
+      Map<IRI, IRI> predefined = new HashMap<>();
+      predefined.put( valueFactory.createIRI( characteristicNamespace, "Timestamp" ), XSD.DATETIME );
+      predefined.put( valueFactory.createIRI( characteristicNamespace, "Text" ), XSD.STRING );
+      predefined.put( valueFactory.createIRI( characteristicNamespace, "MultiLanguageText" ), RDF.LANGSTRING );
+      predefined.put( valueFactory.createIRI( characteristicNamespace, "Boolean" ), XSD.BOOLEAN );
+      predefined.put( valueFactory.createIRI( characteristicNamespace, "Locale" ), XSD.STRING );
+      predefined.put( valueFactory.createIRI( characteristicNamespace, "Language" ), XSD.STRING );
+      predefined.put( valueFactory.createIRI( characteristicNamespace, "UnitReference" ), curie );
+      predefined.put( valueFactory.createIRI( characteristicNamespace, "ResourcePath" ), XSD.ANYURI );
+      predefined.put( valueFactory.createIRI( characteristicNamespace, "MimeType" ), XSD.STRING );
+      predefinedCharacteristics = Map.copyOf( predefined );
+   }
+
+   /**
+    * @param sammUrn a SAMM meta-model URN ending in '#', as found by {@link SammMetaModelVersionExtractor}
+    * @return the cached vocabulary of that meta-model version
+    */
+   public static SammVocabulary forUrn( String sammUrn ) {
+      return VOCABULARIES.computeIfAbsent( sammUrn, SammVocabulary::new );
+   }
+}
@@ -0,0 +1,100 @@
+package com.bosch.bci.ramos;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Writes the findings as a SARIF 2.1.0 log, the format code scanning tools and IDEs import.
+ * <p>
+ * Results are streamed as they arrive; the tool description, which lists the ids of the rules that reported
+ * something, is written after them when the sink is closed.
+ */
+public class SarifFindingsSink implements FindingsSink {
+   private final Writer writer;
+   private final Set<String> ruleIds = new TreeSet<>();
+   private boolean firstResult = true;
+
+   public SarifFindingsSink( Path target ) throws IOException {
+      this( Files.newBufferedWriter( target, StandardCharsets.UTF_8 ) );
+   }
+
+   public SarifFindingsSink( Writer writer ) throws IOException {
+      this.writer = writer instanceof BufferedWriter ? writer : new BufferedWriter( writer );
+      this.writer.write( "{\"version\":\"2.1.0\",\"$schema\":\"https://json.schemastore.org/sarif-2.1.0.json\",\"runs\":[{\"results\":[" );
+   }
+
+   @Override
+   public void accept( Path file, List<Finding> findings ) throws IOException {
+      String uri = file.toUri().toString();
+      for ( Finding finding : findings ) {
+         ruleIds.add( finding.getRule() );
+         JSONObject location = new JSONObject()
+               .put( "physicalLocation", new JSONObject().put( "artifactLocation", new JSONObject().put( "uri", uri ) ) );
+         if ( finding.getSubject() != null ) {
+            location.put( "logicalLocations", new JSONArray().put( new JSONObject().put( "fullyQualifiedName", finding.getSubject() ) ) );
+         }
+         JSONObject result = new JSONObject()
+               .put( "ruleId", finding.getRule() )
+               .put( "level", level( finding.getSeverity() ) )
+               .put( "message", new JSONObject().put( "text", finding.getMessage() ) )
+               .put( "locations", new JSONArray().put( location ) );
+         if ( finding.isModification() ) {
+            result.put( "properties", new JSONObject().put( "before", finding.getBefore() ).put( "after", finding.getAfter() ) );
+         }
+         if ( !firstResult ) {
+            writer.write( ',' );
+         }
+         firstResult = false;
+         writer.write( result.toString() );
+      }
+   }
+
+   private static String level( Finding.Severity severity ) {
+      switch ( severity ) {
+         case ERROR:
+            return "error";
+         case WARNING:
+            return "warning";
+         default:
+            return "note";
+      }
+   }
+
+   @Override
+   public void flush() throws IOException {
+      writer.flush();
+   }
+
+   @Override
+   public void close() throws IOException {
+      JSONArray rules = new JSONArray();
+      for ( String ruleId : ruleIds ) {
+         rules.put( new JSONObject().put( "id", ruleId ) );
+      }
+      JSONObject driver = new JSONObject()
+            .put( "name", "AspectValidator" )
+            .put( "version", ResultCache.VALIDATOR_VERSION )
+            .put( "rules", rules );
+      writer.write( "],\"tool\":" );
+      writer.write( new JSONObject().put( "driver", driver ).toString() );
+      writer.write( "}]}" );
+      writer.close();
+   }
+}
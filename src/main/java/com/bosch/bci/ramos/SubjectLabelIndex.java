@@ -0,0 +1,75 @@
+package com.bosch.bci.ramos;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.Resource;
+
+/**
+ * The preferredName and description literals of every subject, grouped by language tag.
+ * <p>
+ * Filled while the statements of a file pass by, so pairing the labels of a subject needs no lookup in the model.
+ * Literals without a language tag are grouped under the empty string.
+ */
+public class SubjectLabelIndex {
+
+   /**
+    * The labels of one subject.
+    */
+   public static class Labels {
+      private final List<Literal> preferredNames = new ArrayList<>( 1 );
+      private final Map<String, List<Literal>> descriptionsByLanguage = new HashMap<>( 2 );
+
+      public List<Literal> getPreferredNames() {
+         return preferredNames;
+      }
+
+      /**
+       * @return the descriptions with the same language tag as the given literal
+       */
+      public List<Literal> getDescriptionsInLanguageOf( Literal literal ) {
+         return descriptionsByLanguage.getOrDefault( language( literal ), List.of() );
+      }
+   }
+
+   private final Map<Resource, Labels> labelsBySubject = new LinkedHashMap<>();
+
+   public void addPreferredName( Resource subject, Literal preferredName ) {
+      labels( subject ).preferredNames.add( preferredName );
+   }
+
+   public void addDescription( Resource subject, Literal description ) {
+      labels( subject ).descriptionsByLanguage.computeIfAbsent( language( description ), key -> new ArrayList<>( 1 ) ).add( description );
+   }
+
+   /**
+    * Calls the consumer once per subject, in the order the subjects were first seen.
+    */
+   public void forEach( BiConsumer<Resource, Labels> consumer ) {
+      labelsBySubject.forEach( consumer );
+   }
+
+   public int size() {
+      return labelsBySubject.size();
+   }
+
+   private Labels labels( Resource subject ) {
+      return labelsBySubject.computeIfAbsent( subject, key -> new Labels() );
+   }
+
+   private static String language( Literal literal ) {
+      return literal.getLanguage().orElse( "" );
+   }
+}
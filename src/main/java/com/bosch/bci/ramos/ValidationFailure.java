@@ -0,0 +1,96 @@
+package com.bosch.bci.ramos;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import java.io.IOException;
+
+import org.eclipse.rdf4j.rio.RDFParseException;
+import org.eclipse.rdf4j.rio.UnsupportedRDFormatException;
+
+/**
+ * Why a file could not be validated. The other files of a batch are validated regardless; the failure is reported
+ * like a finding of the file, so it shows up in the findings reports and the metrics.
+ */
+public class ValidationFailure extends IOException {
+
+   private static final long serialVersionUID = 1L;
+
+   /**
+    * The kinds of failure, each with the rule id it is reported under.
+    */
+   public enum Kind {
+      /** The file is not valid Turtle. */
+      PARSE_ERROR( "parse-error" ),
+      /** The file uses no SAMM meta-model namespace. */
+      MISSING_SAMM_NAMESPACE( "missing-samm-namespace" ),
+      /** The file is larger than the size budget. */
+      TOO_LARGE( "too-large" ),
+      /** The validation took longer than the time budget and was cancelled. */
+      TIMEOUT( "timeout" ),
+      /** The file, a cache or a backup could not be read or written. */
+      IO_ERROR( "io-error" ),
+      /** Anything else, most likely a bug in a rule. */
+      INTERNAL_ERROR( "internal-error" );
+
+      private final String id;
+
+      Kind( String id ) {
+         this.id = id;
+      }
+
+      public String getId() {
+         return id;
+      }
+   }
+
+   private final Kind kind;
+
+   public ValidationFailure( Kind kind, String message ) {
+      super( message );
+      this.kind = kind;
+   }
+
+   public ValidationFailure( Kind kind, String message, Throwable cause ) {
+      super( message, cause );
+      this.kind = kind;
+   }
+
+   public Kind getKind() {
+      return kind;
+   }
+
+   /**
+    * Classifies whatever stopped the validation of a file.
+    *
+    * @param e the exception thrown while the file was validated
+    * @return the failure itself if it already is one, otherwise a failure with e as its cause
+    */
+   public static ValidationFailure of( Throwable e ) {
+      // The parser passes failures raised in a handler on wrapped in its own exceptions
+      for ( Throwable cause = e; cause != null; cause = cause.getCause() ) {
+         if ( cause instanceof ValidationFailure ) {
+            return (ValidationFailure) cause;
+         }
+      }
+      String message = e.getClass().getSimpleName() + ": " + e.getMessage();
+      if ( e instanceof RDFParseException || e instanceof UnsupportedRDFormatException ) {
+         return new ValidationFailure( Kind.PARSE_ERROR, message, e );
+      }
+      if ( e instanceof IOException ) {
+         return new ValidationFailure( Kind.IO_ERROR, message, e );
+      }
+      return new ValidationFailure( Kind.INTERNAL_ERROR, message, e );
+   }
+
+   /**
+    * @return the failure as a file level error finding, for the findings reports
+    */
+   public Finding toFinding() {
+      return new Finding( null, kind.getId(), Finding.Severity.ERROR, getMessage(), null, null );
+   }
+}
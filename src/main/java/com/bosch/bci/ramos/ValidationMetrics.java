@@ -0,0 +1,291 @@
+package com.bosch.bci.ramos;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Where the time of a run goes: the totals per phase and per rule, counters, and the latency of every file.
+ * <p>
+ * Workers hand in one {@link FileTimings} per file; recording takes a lock once per file, never per statement.
+ * The numbers are available over JMX while the validator runs and as a JSON summary at the end of a run,
+ * including p50/p99 latencies and the slowest files.
+ */
+public class ValidationMetrics implements ValidationMetricsMXBean {
+   private static final Logger logger = Logger.getLogger( ValidationMetrics.class.getName() );
+
+   /** The JMX name the metrics are registered under. */
+   public static final String OBJECT_NAME = "com.bosch.bci.ramos:type=ValidationMetrics";
+
+   /** Number of slowest files reported as outliers. */
+   public static final int OUTLIERS = 10;
+
+   /**
+    * The time and counts of one validated file.
+    */
+   private static class FileRecord {
+      final String file;
+      final long nanos;
+      final long statements;
+      final int findings;
+      final String slowestPhase;
+
+      FileRecord( String file, long nanos, long statements, int findings, String slowestPhase ) {
+         this.file = file;
+         this.nanos = nanos;
+         this.statements = statements;
+         this.findings = findings;
+         this.slowestPhase = slowestPhase;
+      }
+   }
+
+   private long startNanos = System.nanoTime();
+   private final long[] phaseNanos = new long[FileTimings.Phase.values().length];
+   private final Map<String, Long> ruleNanos = new LinkedHashMap<>();
+   private final List<FileRecord> files = new ArrayList<>();
+   private long failures;
+   private final Map<String, Long> failuresByKind = new LinkedHashMap<>();
+   private long cacheHits;
+   private long statements;
+   private long findings;
+   private long modifications;
+
+   /**
+    * Adds a validated file.
+    *
+    * @param file the aspect model file
+    * @param timings the phases of the file
+    * @param fileFindings the findings reported for the file
+    */
+   public synchronized void record( Path file, FileTimings timings, List<Finding> fileFindings ) {
+      long total = 0;
+      FileTimings.Phase slowest = FileTimings.Phase.READ;
+      for ( FileTimings.Phase phase : FileTimings.Phase.values() ) {
+         long nanos = timings.getNanos( phase );
+         phaseNanos[phase.ordinal()] += nanos;
+         total += nanos;
+         if ( nanos > timings.getNanos( slowest ) ) {
+            slowest = phase;
+         }
+      }
+      timings.getRuleNanos().forEach( ( rule, nanos ) -> ruleNanos.merge( rule, nanos, Long::sum ) );
+      if ( timings.isCached() ) {
+         cacheHits++;
+      }
+      statements += timings.getStatements();
+      findings += fileFindings.size();
+      for ( Finding finding : fileFindings ) {
+         if ( finding.isModification() ) {
+            modifications++;
+         }
+      }
+      files.add( new FileRecord( file.toString(), total, timings.getStatements(), fileFindings.size(), slowest.getKey() ) );
+   }
+
+   /**
+    * Counts a file that could not be validated.
+    *
+    * @param kind why the file failed
+    */
+   public synchronized void recordFailure( ValidationFailure.Kind kind ) {
+      failures++;
+      failuresByKind.merge( kind.getId(), 1L, Long::sum );
+   }
+
+   /**
+    * Makes the metrics visible over JMX, replacing metrics registered earlier in this process.
+    */
+   public void register() {
+      try {
+         MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+         ObjectName name = new ObjectName( OBJECT_NAME );
+         if ( server.isRegistered( name ) ) {
+            server.unregisterMBean( name );
+         }
+         server.registerMBean( this, name );
+      } catch ( JMException e ) {
+         logger.warning( "Could not register the validation metrics with JMX: " + e.getMessage() );
+      }
+   }
+
+   @Override
+   public synchronized long getFiles() {
+      return files.size();
+   }
+
+   @Override
+   public synchronized long getFailures() {
+      return failures;
+   }
+
+   @Override
+   public synchronized Map<String, Long> getFailuresByKind() {
+      return new LinkedHashMap<>( failuresByKind );
+   }
+
+   @Override
+   public synchronized long getCacheHits() {
+      return cacheHits;
+   }
+
+   @Override
+   public synchronized long getStatements() {
+      return statements;
+   }
+
+   @Override
+   public synchronized long getFindings() {
+      return findings;
+   }
+
+   @Override
+   public synchronized long getModifications() {
+      return modifications;
+   }
+
+   @Override
+   public double getP50Millis() {
+      return percentileMillis( 50 );
+   }
+
+   @Override
+   public double getP99Millis() {
+      return percentileMillis( 99 );
+   }
+
+   @Override
+   public double getMaxMillis() {
+      return percentileMillis( 100 );
+   }
+
+   @Override
+   public synchronized Map<String, Double> getPhaseMillis() {
+      Map<String, Double> millis = new LinkedHashMap<>();
+      for ( FileTimings.Phase phase : FileTimings.Phase.values() ) {
+         millis.put( phase.getKey(), millis( phaseNanos[phase.ordinal()] ) );
+      }
+      return millis;
+   }
+
+   @Override
+   public synchronized Map<String, Double> getRuleMillis() {
+      Map<String, Double> millis = new LinkedHashMap<>();
+      ruleNanos.forEach( ( rule, nanos ) -> millis.put( rule, millis( nanos ) ) );
+      return millis;
+   }
+
+   @Override
+   public List<String> getOutliers() {
+      List<String> outliers = new ArrayList<>();
+      for ( FileRecord record : slowest() ) {
+         outliers.add( String.format( "%s: %.1f ms", record.file, millis( record.nanos ) ) );
+      }
+      return outliers;
+   }
+
+   @Override
+   public synchronized void reset() {
+      startNanos = System.nanoTime();
+      Arrays.fill( phaseNanos, 0 );
+      ruleNanos.clear();
+      files.clear();
+      failures = 0;
+      failuresByKind.clear();
+      cacheHits = 0;
+      statements = 0;
+      findings = 0;
+      modifications = 0;
+   }
+
+   /**
+    * @return the summary of the run as JSON
+    */
+   public synchronized JSONObject toJson() {
+      JSONObject summary = new JSONObject();
+      summary.put( "wallMillis", millis( System.nanoTime() - startNanos ) );
+      summary.put( "files", files.size() );
+      summary.put( "failures", failures );
+      summary.put( "failuresByKind", new JSONObject( failuresByKind ) );
+      summary.put( "cacheHits", cacheHits );
+      summary.put( "statements", statements );
+      summary.put( "findings", findings );
+      summary.put( "modifications", modifications );
+
+      JSONObject latency = new JSONObject();
+      latency.put( "p50Millis", percentileMillis( 50 ) );
+      latency.put( "p90Millis", percentileMillis( 90 ) );
+      latency.put( "p99Millis", percentileMillis( 99 ) );
+      latency.put( "maxMillis", percentileMillis( 100 ) );
+      summary.put( "latency", latency );
+
+      summary.put( "phaseMillis", new JSONObject( getPhaseMillis() ) );
+      summary.put( "ruleMillis", new JSONObject( getRuleMillis() ) );
+
+      JSONArray outliers = new JSONArray();
+      for ( FileRecord record : slowest() ) {
+         JSONObject outlier = new JSONObject();
+         outlier.put( "file", record.file );
+         outlier.put( "millis", millis( record.nanos ) );
+         outlier.put( "statements", record.statements );
+         outlier.put( "findings", record.findings );
+         outlier.put( "slowestPhase", record.slowestPhase );
+         outliers.put( outlier );
+      }
+      summary.put( "outliers", outliers );
+      return summary;
+   }
+
+   /**
+    * Writes the summary of the run as a JSON file.
+    */
+   public void writeSummary( Path target ) throws IOException {
+      Files.write( target, toJson().toString( 2 ).getBytes( StandardCharsets.UTF_8 ) );
+   }
+
+   private synchronized List<FileRecord> slowest() {
+      List<FileRecord> sorted = new ArrayList<>( files );
+      sorted.sort( Comparator.comparingLong( ( FileRecord record ) -> record.nanos ).reversed() );
+      return sorted.subList( 0, Math.min( OUTLIERS, sorted.size() ) );
+   }
+
+   // Nearest-rank percentile of the file latencies
+   private synchronized double percentileMillis( int percentile ) {
+      if ( files.isEmpty() ) {
+         return 0;
+      }
+      long[] nanos = new long[files.size()];
+      for ( int i = 0; i < nanos.length; i++ ) {
+         nanos[i] = files.get( i ).nanos;
+      }
+      Arrays.sort( nanos );
+      int rank = (int) Math.ceil( percentile / 100.0 * nanos.length );
+      return millis( nanos[Math.max( 0, rank - 1 )] );
+   }
+
+   private static double millis( long nanos ) {
+      return nanos / 1_000_000.0;
+   }
+}
@@ -0,0 +1,60 @@
+package com.bosch.bci.ramos;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JMX view of {@link ValidationMetrics}, registered as {@value ValidationMetrics#OBJECT_NAME}.
+ */
+public interface ValidationMetricsMXBean {
+
+   long getFiles();
+
+   long getFailures();
+
+   /**
+    * @return the number of failed files by {@link ValidationFailure.Kind} id, e.g. timeout or parse-error
+    */
+   Map<String, Long> getFailuresByKind();
+
+   long getCacheHits();
+
+   long getStatements();
+
+   long getFindings();
+
+   long getModifications();
+
+   double getP50Millis();
+
+   double getP99Millis();
+
+   double getMaxMillis();
+
+   /**
+    * @return the total time of every phase in milliseconds, by phase name
+    */
+   Map<String, Double> getPhaseMillis();
+
+   /**
+    * @return the total time of every rule in milliseconds, by rule id
+    */
+   Map<String, Double> getRuleMillis();
+
+   /**
+    * @return the slowest files with their time in milliseconds
+    */
+   List<String> getOutliers();
+
+   /**
+    * Starts counting from zero again.
+    */
+   void reset();
+}
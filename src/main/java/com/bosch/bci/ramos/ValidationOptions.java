@@ -0,0 +1,54 @@
+package com.bosch.bci.ramos;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import java.time.Duration;
+
+/**
+ * Settings for validating a single file, shared by the Swing loop and the headless modes.
+ */
+class ValidationOptions {
+   /** Default largest file that is validated. */
+   static final long DEFAULT_MAX_FILE_BYTES = 256L * 1024 * 1024;
+   /** Default time budget of one file. */
+   static final Duration DEFAULT_FILE_TIMEOUT = Duration.ofMinutes( 2 );
+
+   /** Stores the content of a file before it is modified, or null to modify files without a backup. */
+   BackupStore backupStore = null;
+   /**
+    * Larger files fail with {@link ValidationFailure.Kind#TOO_LARGE} without being read, 0 for no limit. The limit is
+    * checked before the model backend is chosen, so a {@link #nativeStoreBytes} above it is never reached.
+    */
+   long maxFileBytes = DEFAULT_MAX_FILE_BYTES;
+   /** Files still running after this time are cancelled with {@link ValidationFailure.Kind#TIMEOUT}, null for no limit. */
+   Duration fileTimeout = DEFAULT_FILE_TIMEOUT;
+   /** The model backend of every file, or null to choose it by size. */
+   ModelBackend.Kind modelBackend = null;
+   /** Files of this size and larger are parsed into a MemoryStore, see {@link ModelBackend}. */
+   long memoryStoreBytes = ModelBackend.DEFAULT_MEMORY_STORE_BYTES;
+   /** Files of this size and larger are parsed into a temporary NativeStore, see {@link ModelBackend}. */
+   long nativeStoreBytes = ModelBackend.DEFAULT_NATIVE_STORE_BYTES;
+   /** Scan the whole file for SAMM versions instead of only its header. */
+   boolean fullVersionScan = false;
+   /** Only report findings: stream the statements through the rules and never build a Model or write the file. */
+   boolean reportOnly = false;
+   /** Print the changes a run would make as a patch-like change list instead of writing the file or its backup. */
+   boolean dryRun = false;
+   /** preferredName and description fixes shared by all files and worker threads of the run. */
+   LiteralTransformCache literalCache = new LiteralTransformCache( LiteralTransformCache.DEFAULT_SIZE );
+   /** Collects the time of every phase and rule, or null to leave the run uninstrumented. */
+   ValidationMetrics metrics = null;
+   /** The other files of the workspace, for cross-file references, or null to validate every file on its own. */
+   WorkspaceIndex workspace = null;
+   /** Parsed models of earlier runs in binary form, or null to parse the Turtle of every file. */
+   ModelCache modelCache = null;
+   /** Results of earlier runs, or null to validate every file. */
+   ResultCache resultCache = null;
+   /** Receives the findings of every validated file, or null. */
+   FindingsSink findingsSink = null;
+}
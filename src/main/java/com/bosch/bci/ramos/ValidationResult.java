@@ -0,0 +1,63 @@
+package com.bosch.bci.ramos;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import java.util.List;
+import java.util.Optional;
+
+import org.eclipse.rdf4j.model.Model;
+
+/**
+ * The outcome of validating one aspect model with {@link AspectModelValidator}. Instances are immutable and may
+ * be shared between threads.
+ */
+public final class ValidationResult {
+   private final String sammUrn;
+   private final List<Finding> findings;
+   private final Model correctedModel;
+
+   ValidationResult( String sammUrn, List<Finding> findings, Model correctedModel ) {
+      this.sammUrn = sammUrn;
+      this.findings = List.copyOf( findings );
+      this.correctedModel = correctedModel == null ? null : correctedModel.unmodifiable();
+   }
+
+   /**
+    * @return the SAMM meta-model URN the model was validated against
+    */
+   public String getSammUrn() {
+      return sammUrn;
+   }
+
+   /**
+    * @return the modifications and warnings reported for the model
+    */
+   public List<Finding> getFindings() {
+      return findings;
+   }
+
+   /**
+    * @return whether any rule fixed a value
+    */
+   public boolean isModified() {
+      return findings.stream().anyMatch( Finding::isModification );
+   }
+
+   /**
+    * @return the model with all fixes applied, if a corrected model was requested; it is read-only and never the
+    *       model that was passed in
+    */
+   public Optional<Model> getCorrectedModel() {
+      return Optional.ofNullable( correctedModel );
+   }
+
+   @Override
+   public String toString() {
+      return "ValidationResult[" + sammUrn + ", " + findings.size() + " findings]";
+   }
+}
@@ -0,0 +1,227 @@
+package com.bosch.bci.ramos;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Year;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.eclipse.rdf4j.model.Model;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Local HTTP mode: validates Turtle documents posted by editors and hooks in one warm JVM.
+ * <p>
+ * {@code POST /validate} with a Turtle body answers with the findings as JSON; with {@code ?correct=true} the
+ * answer also carries the corrected Turtle, including the copyright notice the command line would add.
+ * {@code GET /health} answers {@code ok}. Requests run on virtual threads where the JVM has them (Java 21 and
+ * later) and on a bounded pool of platform threads otherwise. At most {@code maxConcurrent} validations run
+ * at a time; a request that cannot start within {@link #ADMISSION_TIMEOUT_SECONDS} is answered with 503, and a
+ * body larger than {@code maxRequestBytes} with 413. Nothing is written to disk.
+ */
+public class ValidationServer {
+   private static final Logger logger = Logger.getLogger( ValidationServer.class.getName() );
+
+   /** Default largest accepted request body. */
+   public static final long DEFAULT_MAX_REQUEST_BYTES = 16L * 1024 * 1024;
+
+   /** How long a request waits for a free validation slot before it is rejected. */
+   public static final long ADMISSION_TIMEOUT_SECONDS = 5;
+
+   private final AspectModelValidator validator;
+   private final int maxConcurrent;
+   private final long maxRequestBytes;
+   private final Semaphore slots;
+   private HttpServer server;
+   private ExecutorService executor;
+
+   /**
+    * @param validator the validator shared by all requests
+    * @param maxConcurrent the largest number of validations running at the same time
+    * @param maxRequestBytes the largest accepted request body
+    */
+   public ValidationServer( AspectModelValidator validator, int maxConcurrent, long maxRequestBytes ) {
+      this.validator = validator;
+      this.maxConcurrent = maxConcurrent;
+      this.maxRequestBytes = maxRequestBytes;
+      this.slots = new Semaphore( maxConcurrent, true );
+   }
+
+   /**
+    * Starts serving in the background.
+    *
+    * @param address the address to listen on, usually a loopback address
+    * @return the address actually bound, with the port chosen by the system if 0 was given
+    * @throws IOException if the address cannot be bound
+    */
+   public synchronized InetSocketAddress start( InetSocketAddress address ) throws IOException {
+      server = HttpServer.create( address, 0 );
+      executor = newExecutor( maxConcurrent );
+      server.setExecutor( executor );
+      server.createContext( "/validate", this::handleValidate );
+      server.createContext( "/health", exchange -> respond( exchange, 200, "text/plain", "ok" ) );
+      server.start();
+      logger.info( "Validation service listening on " + server.getAddress() );
+      return server.getAddress();
+   }
+
+   /**
+    * Stops accepting requests and waits up to the given delay for running requests to finish.
+    */
+   public synchronized void stop( int delaySeconds ) {
+      if ( server != null ) {
+         server.stop( delaySeconds );
+         executor.shutdown();
+         server = null;
+      }
+   }
+
+   // Virtual threads through reflection, so the jar still builds and runs on Java 17. The platform pool is twice
+   // the number of slots, so uploads and health checks are served while every slot is validating.
+   private static ExecutorService newExecutor( int maxConcurrent ) {
+      try {
+         return (ExecutorService) Executors.class.getMethod( "newVirtualThreadPerTaskExecutor" ).invoke( null );
+      } catch ( ReflectiveOperationException | RuntimeException e ) {
+         logger.fine( "No virtual threads, serving on " + 2 * maxConcurrent + " platform threads" );
+         return Executors.newFixedThreadPool( 2 * maxConcurrent );
+      }
+   }
+
+   private void handleValidate( HttpExchange exchange ) throws IOException {
+      try {
+         if ( !"POST".equals( exchange.getRequestMethod() ) ) {
+            exchange.getResponseHeaders().set( "Allow", "POST" );
+            respondError( exchange, 405, "Use POST with a Turtle body" );
+            return;
+         }
+         String contentLength = exchange.getRequestHeaders().getFirst( "Content-Length" );
+         if ( contentLength != null && Long.parseLong( contentLength ) > maxRequestBytes ) {
+            respondError( exchange, 413, "The request body is larger than " + maxRequestBytes + " bytes" );
+            return;
+         }
+         byte[] body = readBody( exchange.getRequestBody() );
+         if ( body == null ) {
+            respondError( exchange, 413, "The request body is larger than " + maxRequestBytes + " bytes" );
+            return;
+         }
+         boolean correct = "true".equals( queryParameter( exchange, "correct" ) );
+
+         if ( !slots.tryAcquire( ADMISSION_TIMEOUT_SECONDS, TimeUnit.SECONDS ) ) {
+            exchange.getResponseHeaders().set( "Retry-After", "1" );
+            respondError( exchange, 503, "All " + maxConcurrent + " validation slots are busy" );
+            return;
+         }
+         JSONObject response;
+         try {
+            response = validate( body, correct );
+         } finally {
+            slots.release();
+         }
+         respond( exchange, 200, "application/json", response.toString() );
+      } catch ( NumberFormatException e ) {
+         respondError( exchange, 400, "Invalid Content-Length" );
+      } catch ( InterruptedException e ) {
+         Thread.currentThread().interrupt();
+         respondError( exchange, 503, "The service is shutting down" );
+      } catch ( IOException e ) {
+         // Invalid Turtle or no SAMM namespace, the message tells the client what is wrong
+         respondError( exchange, 400, e.getMessage() );
+      } catch ( RuntimeException e ) {
+         logger.log( Level.WARNING, "Validation request failed", e );
+         respondError( exchange, 500, e.getClass().getSimpleName() + ": " + e.getMessage() );
+      } finally {
+         exchange.close();
+      }
+   }
+
+   private JSONObject validate( byte[] body, boolean correct ) throws IOException {
+      ValidationResult result = validator.validate( new ByteArrayInputStream( body ), correct );
+      JSONObject response = new JSONObject();
+      response.put( "sammUrn", result.getSammUrn() );
+      response.put( "modified", result.isModified() );
+      JSONArray findings = new JSONArray();
+      for ( Finding finding : result.getFindings() ) {
+         findings.put( finding.toJson() );
+      }
+      response.put( "findings", findings );
+      if ( result.getCorrectedModel().isPresent() ) {
+         response.put( "turtle", toTurtle( result.getCorrectedModel().get(), body ) );
+      }
+      return response;
+   }
+
+   // The corrected document as the command line would save it, keeping the copyright year of the original
+   private static String toTurtle( Model model, byte[] original ) throws IOException {
+      String copyrightYear = RDFUtils.checkCopyrightYear( ByteBuffer.wrap( original ) );
+      StringWriter turtle = new StringWriter();
+      RDFUtils.writeTurtle( model, turtle, RDFUtils.copyrightNotice( copyrightYear == null ? Year.now().toString() : copyrightYear ) );
+      return turtle.toString();
+   }
+
+   /**
+    * @return the body, or null if it is larger than {@link #maxRequestBytes}
+    */
+   private byte[] readBody( InputStream input ) throws IOException {
+      ByteArrayOutputStream body = new ByteArrayOutputStream();
+      byte[] buffer = new byte[8192];
+      int read;
+      while ( ( read = input.read( buffer ) ) >= 0 ) {
+         if ( body.size() + read > maxRequestBytes ) {
+            return null;
+         }
+         body.write( buffer, 0, read );
+      }
+      return body.toByteArray();
+   }
+
+   private static String queryParameter( HttpExchange exchange, String name ) {
+      String query = exchange.getRequestURI().getRawQuery();
+      if ( query == null ) {
+         return null;
+      }
+      for ( String parameter : query.split( "&" ) ) {
+         int separator = parameter.indexOf( '=' );
+         String key = separator < 0 ? parameter : parameter.substring( 0, separator );
+         if ( key.equals( name ) ) {
+            return separator < 0 ? "" : URLDecoder.decode( parameter.substring( separator + 1 ), StandardCharsets.UTF_8 );
+         }
+      }
+      return null;
+   }
+
+   private static void respondError( HttpExchange exchange, int status, String message ) throws IOException {
+      respond( exchange, status, "application/json", new JSONObject().put( "error", message ).toString() );
+   }
+
+   private static void respond( HttpExchange exchange, int status, String contentType, String body ) throws IOException {
+      byte[] bytes = body.getBytes( StandardCharsets.UTF_8 );
+      exchange.getResponseHeaders().set( "Content-Type", contentType + "; charset=utf-8" );
+      exchange.sendResponseHeaders( status, bytes.length );
+      try ( OutputStream output = exchange.getResponseBody() ) {
+         output.write( bytes );
+      }
+   }
+}
@@ -0,0 +1,214 @@
+package com.bosch.bci.ramos;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Long-running mode that re-validates an aspect file as soon as it is created or modified.
+ * <p>
+ * Events are debounced per file: a burst of events (editors often write a file several times when saving)
+ * results in one validation once the file has been quiet for the debounce delay. The file the validator
+ * writes itself is recognized by its size and modification time and does not trigger another validation.
+ * The JVM, the SAMM vocabularies and the rule classes stay warm between validations.
+ */
+public class WatchValidator {
+   private static final Logger logger = Logger.getLogger( WatchValidator.class.getName() );
+
+   private final ValidationOptions options;
+   private final long debounceMillis;
+   private final ExecutorService workers;
+   private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor( runnable -> {
+      Thread thread = new Thread( runnable, "watch-debounce" );
+      thread.setDaemon( true );
+      return thread;
+   } );
+
+   private final Map<WatchKey, Path> directories = new ConcurrentHashMap<>();
+   private final Map<Path, ScheduledFuture<?>> scheduled = new ConcurrentHashMap<>();
+   private final Set<Path> running = ConcurrentHashMap.newKeySet();
+   // Size and modification time of the files as the validator left them
+   private final Map<Path, FileState> written = new ConcurrentHashMap<>();
+
+   private static class FileState {
+      final long size;
+      final long modified;
+
+      FileState( long size, long modified ) {
+         this.size = size;
+         this.modified = modified;
+      }
+
+      static FileState of( Path file ) throws IOException {
+         BasicFileAttributes attributes = Files.readAttributes( file, BasicFileAttributes.class );
+         return new FileState( attributes.size(), attributes.lastModifiedTime().toMillis() );
+      }
+
+      @Override
+      public boolean equals( Object other ) {
+         return other instanceof FileState && ( (FileState) other ).size == size && ( (FileState) other ).modified == modified;
+      }
+
+      @Override
+      public int hashCode() {
+         return Objects.hash( size, modified );
+      }
+   }
+
+   public WatchValidator( ValidationOptions options, int threads, long debounceMillis ) {
+      this.options = options;
+      this.debounceMillis = debounceMillis;
+      this.workers = Executors.newFixedThreadPool( threads );
+   }
+
+   /**
+    * Watches the given directory trees until the thread is interrupted.
+    *
+    * @param roots the model directories
+    * @throws IOException if a directory cannot be watched
+    */
+   public void watch( List<Path> roots ) throws IOException {
+      try ( WatchService watchService = FileSystems.getDefault().newWatchService() ) {
+         for ( Path root : roots ) {
+            registerTree( watchService, root );
+         }
+         System.out.println( "Watching " + directories.size() + " directories for changed aspect files. Press Ctrl+C to stop." );
+         while ( !Thread.currentThread().isInterrupted() ) {
+            WatchKey key = watchService.take();
+            Path directory = directories.get( key );
+            if ( directory != null ) {
+               for ( WatchEvent<?> event : key.pollEvents() ) {
+                  handleEvent( watchService, directory, event );
+               }
+            }
+            if ( !key.reset() ) {
+               directories.remove( key );
+            }
+         }
+      } catch ( InterruptedException | ClosedWatchServiceException e ) {
+         Thread.currentThread().interrupt();
+      } finally {
+         scheduler.shutdownNow();
+         stopWorkers();
+      }
+   }
+
+   // Lets the validations already started finish, so no file is left half-written and their findings are reported
+   private void stopWorkers() {
+      workers.shutdown();
+      boolean interrupted = Thread.interrupted();
+      try {
+         if ( !workers.awaitTermination( 30, TimeUnit.SECONDS ) ) {
+            workers.shutdownNow();
+         }
+      } catch ( InterruptedException e ) {
+         workers.shutdownNow();
+         interrupted = true;
+      } finally {
+         if ( interrupted ) {
+            Thread.currentThread().interrupt();
+         }
+      }
+   }
+
+   private void handleEvent( WatchService watchService, Path directory, WatchEvent<?> event ) throws IOException {
+      if ( event.kind() == OVERFLOW ) {
+         logger.warning( "Missed file events in " + directory + ", save the affected files again to re-validate them" );
+         return;
+      }
+      Path path = directory.resolve( (Path) event.context() );
+      if ( event.kind() == ENTRY_CREATE && Files.isDirectory( path ) ) {
+         registerTree( watchService, path );
+         return;
+      }
+      // Ignores the validator's own _logs.txt outputs and the _original.ttl copies of earlier versions
+      if ( BatchValidator.isAspectFile( path ) ) {
+         schedule( path );
+      }
+   }
+
+   private void registerTree( WatchService watchService, Path root ) throws IOException {
+      Files.walkFileTree( root, new SimpleFileVisitor<>() {
+         @Override
+         public FileVisitResult preVisitDirectory( Path dir, BasicFileAttributes attributes ) throws IOException {
+            directories.put( dir.register( watchService, ENTRY_CREATE, ENTRY_MODIFY ), dir );
+            return FileVisitResult.CONTINUE;
+         }
+      } );
+   }
+
+   /**
+    * (Re)starts the debounce delay of a file, coalescing all events of a burst into one validation.
+    */
+   private void schedule( Path file ) {
+      scheduled.compute( file, ( path, previous ) -> {
+         if ( previous != null ) {
+            previous.cancel( false );
+         }
+         return scheduler.schedule( () -> submit( path ), debounceMillis, TimeUnit.MILLISECONDS );
+      } );
+   }
+
+   private void submit( Path file ) {
+      scheduled.remove( file );
+      if ( !running.add( file ) ) {
+         // Still validating the previous version, look again once the delay has passed
+         schedule( file );
+         return;
+      }
+      workers.execute( () -> {
+         try {
+            validate( file );
+         } finally {
+            running.remove( file );
+         }
+      } );
+   }
+
+   private void validate( Path file ) {
+      try {
+         if ( !Files.isRegularFile( file ) || FileState.of( file ).equals( written.get( file ) ) ) {
+            // Deleted again, or the event was caused by the validator writing the file
+            return;
+         }
+         long start = System.nanoTime();
+         List<Finding> findings = AspectGuidelineValidator.validateFile( file.toFile(), options );
+         written.put( file, FileState.of( file ) );
+         System.out.printf( "%s: %d findings (%d ms)%n", file, findings.size(), ( System.nanoTime() - start ) / 1_000_000 );
+      } catch ( ValidationFailure e ) {
+         System.err.println( "FAILED " + file + " [" + e.getKind().getId() + "]: " + e.getMessage() );
+      } catch ( IOException e ) {
+         System.err.println( "FAILED " + file + ": " + e.getClass().getSimpleName() + ": " + e.getMessage() );
+      }
+   }
+}
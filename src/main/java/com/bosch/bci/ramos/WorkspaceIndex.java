@@ -0,0 +1,208 @@
+package com.bosch.bci.ramos;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.RDFParseException;
+import org.eclipse.rdf4j.rio.RDFParser;
+import org.eclipse.rdf4j.rio.Rio;
+import org.eclipse.rdf4j.rio.helpers.AbstractRDFHandler;
+
+/**
+ * The structure of every aspect file in a workspace, so a file can refer to characteristics, entities and units
+ * defined in other files of the same namespace.
+ * <p>
+ * Every file is parsed once, in parallel, before the validation starts. Only statements about IRIs whose object
+ * is a resource are kept (types, datatypes and the links between model elements), not the literals, so the index
+ * stays small compared to the models themselves. The statements are grouped by the namespace of their subject. The index is
+ * read-only once built and shared by all workers.
+ */
+public class WorkspaceIndex {
+   private static final Logger logger = Logger.getLogger( WorkspaceIndex.class.getName() );
+
+   private static final Model EMPTY = new LinkedHashModel().unmodifiable();
+
+   /**
+    * The indexed statements of one file.
+    */
+   private static class IndexedFile {
+      final String path;
+      final String contentHash;
+      final Model structure;
+
+      IndexedFile( String path, String contentHash, Model structure ) {
+         this.path = path;
+         this.contentHash = contentHash;
+         this.structure = structure;
+      }
+   }
+
+   private final Map<String, Model> namespaces;
+   private final String fingerprint;
+   private final int files;
+
+   private WorkspaceIndex( Map<String, Model> namespaces, String fingerprint, int files ) {
+      this.namespaces = namespaces;
+      this.fingerprint = fingerprint;
+      this.files = files;
+   }
+
+   /**
+    * Parses every aspect file below the given roots.
+    *
+    * @param roots files or directories, directories are walked recursively
+    * @param threads the number of files parsed in parallel
+    * @return the index; files that cannot be parsed are left out and fail in their own validation
+    * @throws IOException if a directory cannot be walked
+    */
+   public static WorkspaceIndex build( List<Path> roots, int threads ) throws IOException {
+      List<Path> aspectFiles = new ArrayList<>();
+      for ( Path root : roots ) {
+         if ( Files.isDirectory( root ) ) {
+            try ( Stream<Path> walk = Files.walk( root ) ) {
+               aspectFiles.addAll( walk.filter( Files::isRegularFile ).filter( BatchValidator::isAspectFile ).collect( Collectors.toList() ) );
+            }
+         } else if ( Files.isRegularFile( root ) ) {
+            aspectFiles.add( root );
+         }
+      }
+
+      ExecutorService workers = Executors.newFixedThreadPool( threads );
+      Map<String, Model> namespaces = new HashMap<>();
+      // Sorted, so the fingerprint does not depend on the order the files were walked in
+      Map<String, String> contentHashes = new TreeMap<>();
+      try {
+         List<Future<IndexedFile>> parsed = new ArrayList<>();
+         for ( Path file : aspectFiles ) {
+            parsed.add( workers.submit( () -> index( file ) ) );
+         }
+         for ( Future<IndexedFile> future : parsed ) {
+            IndexedFile indexed = future.get();
+            if ( indexed == null ) {
+               continue;
+            }
+            contentHashes.put( indexed.path, indexed.contentHash );
+            for ( Statement statement : indexed.structure ) {
+               String namespace = ( (IRI) statement.getSubject() ).getNamespace();
+               namespaces.computeIfAbsent( namespace, key -> new LinkedHashModel() ).add( statement );
+            }
+         }
+      } catch ( InterruptedException e ) {
+         Thread.currentThread().interrupt();
+         throw new IOException( "Interrupted while indexing the workspace", e );
+      } catch ( ExecutionException e ) {
+         throw new IllegalStateException( e.getCause() );
+      } finally {
+         workers.shutdown();
+      }
+      namespaces.replaceAll( ( namespace, model ) -> model.unmodifiable() );
+
+      StringBuilder fingerprint = new StringBuilder();
+      contentHashes.forEach( ( file, hash ) -> fingerprint.append( file ).append( '\t' ).append( hash ).append( '\n' ) );
+      logger.info( "Indexed " + contentHashes.size() + " of " + aspectFiles.size() + " workspace files in " + namespaces.size() + " namespaces" );
+      return new WorkspaceIndex( namespaces, AspectSource.sha256( ByteBuffer.wrap( fingerprint.toString().getBytes( StandardCharsets.UTF_8 ) ) ),
+            contentHashes.size() );
+   }
+
+   // The statements of one file that are kept in the index, or null if the file is no valid aspect model
+   private static IndexedFile index( Path file ) {
+      AspectSource source;
+      try {
+         source = AspectSource.load( file );
+      } catch ( IOException e ) {
+         logger.warning( "Not indexed, cannot read: " + file + ": " + e.getMessage() );
+         return null;
+      }
+      if ( SammMetaModelVersionExtractor.scan( source.buffer(), false ).getHighestUrn().isEmpty() ) {
+         return null;
+      }
+      Model structure = new LinkedHashModel();
+      RDFParser parser = Rio.createParser( RDFFormat.TURTLE );
+      parser.setRDFHandler( new AbstractRDFHandler() {
+         @Override
+         public void handleStatement( Statement statement ) {
+            if ( statement.getSubject() instanceof IRI && statement.getObject() instanceof Resource ) {
+               structure.add( statement );
+            }
+         }
+      } );
+      try ( InputStream input = source.openStream() ) {
+         parser.parse( input, "" );
+      } catch ( IOException | RDFParseException e ) {
+         logger.warning( "Not indexed, invalid Turtle: " + file + ": " + e.getMessage() );
+         return null;
+      }
+      return new IndexedFile( file.toAbsolutePath().normalize().toString(), source.contentHash(), structure );
+   }
+
+   /**
+    * @return the indexed statements about the elements of a namespace, empty if no file defines any
+    */
+   public Model getNamespace( String namespace ) {
+      return namespaces.getOrDefault( namespace, EMPTY );
+   }
+
+   /**
+    * @return the indexed statements with the given subject and predicate, from whichever file defines the subject
+    */
+   public Set<Value> getObjects( Resource subject, IRI predicate ) {
+      if ( !( subject instanceof IRI ) ) {
+         return Set.of();
+      }
+      return getNamespace( ( (IRI) subject ).getNamespace() ).filter( subject, predicate, null ).objects();
+   }
+
+   /**
+    * @return whether a file of the workspace declares the subject with the given type
+    */
+   public boolean hasType( Resource subject, IRI type ) {
+      return subject instanceof IRI && getNamespace( ( (IRI) subject ).getNamespace() ).contains( subject, RDF.TYPE, type );
+   }
+
+   /**
+    * @return a hash of the path and content of every indexed file; results that depend on the index are only
+    *       valid for the same fingerprint
+    */
+   public String getFingerprint() {
+      return fingerprint;
+   }
+
+   /**
+    * @return the number of indexed files
+    */
+   public int getFiles() {
+      return files;
+   }
+}
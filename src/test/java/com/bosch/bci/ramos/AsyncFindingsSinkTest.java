@@ -0,0 +1,44 @@
+package com.bosch.bci.ramos;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class AsyncFindingsSinkTest {
+
+   @Test
+   public void keepsDrainingAfterADelegateThrows() {
+      FindingsSink broken = ( file, findings ) -> {
+         throw new IllegalStateException( "broken sink" );
+      };
+      AsyncFindingsSink sink = new AsyncFindingsSink( List.of( broken ), 2 );
+      IOException failure = assertTimeoutPreemptively( Duration.ofSeconds( 10 ), () -> {
+         Path file = Paths.get( "a.ttl" );
+         try {
+            // More records than the queue holds, the workers must not block once the writer failed
+            for ( int i = 0; i < 100; i++ ) {
+               sink.accept( file, List.of() );
+            }
+         } catch ( IOException e ) {
+            // reported to the workers as soon as the writer failed
+         }
+         return assertThrows( IOException.class, sink::close );
+      } );
+      assertEquals( IllegalStateException.class, failure.getCause().getClass() );
+   }
+}
@@ -0,0 +1,90 @@
+package com.bosch.bci.ramos;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class BatchValidatorTest {
+   private static final String ASPECT = "@prefix samm: <urn:samm:org.eclipse.esmf.samm:meta-model:2.1.0#> .\n"
+         + "@prefix xsd: <http://www.w3.org/2001/XMLSchema#> .\n"
+         + "@prefix : <urn:samm:com.example:1.0.0#> .\n"
+         + ":name a samm:Property ; samm:characteristic :Name .\n"
+         + ":Name a samm:Characteristic ; samm:dataType xsd:string .\n";
+
+   @TempDir
+   Path directory;
+
+   @Test
+   public void recursiveGlobIncludesTopLevelFiles() throws Exception {
+      Path models = Files.createDirectories( directory.resolve( "models" ).resolve( "sub" ) ).getParent();
+      Files.write( models.resolve( "Top.ttl" ), ASPECT.getBytes( StandardCharsets.UTF_8 ) );
+      Files.write( models.resolve( "sub" ).resolve( "Nested.ttl" ), ASPECT.getBytes( StandardCharsets.UTF_8 ) );
+      Files.write( models.resolve( "notes.txt" ), ASPECT.getBytes( StandardCharsets.UTF_8 ) );
+      Path findings = directory.resolve( "findings.jsonl" );
+
+      int exitCode = BatchValidator.run( new String[] { "--report-only", "--findings", findings.toString(), models + "/**/*.ttl" } );
+
+      assertEquals( BatchValidator.EXIT_VIOLATIONS, exitCode );
+      Set<String> files = new TreeSet<>();
+      for ( String line : Files.readAllLines( findings, StandardCharsets.UTF_8 ) ) {
+         files.add( Paths.get( new JSONObject( line ).getString( "file" ) ).getFileName().toString() );
+      }
+      assertEquals( Set.of( "Nested.ttl", "Top.ttl" ), files );
+   }
+
+   @Test
+   public void globMatchingNothingIsAnError() throws Exception {
+      Files.write( directory.resolve( "Aspect.ttl" ), ASPECT.getBytes( StandardCharsets.UTF_8 ) );
+
+      assertEquals( BatchValidator.EXIT_ERROR, BatchValidator.run( new String[] { "--report-only", directory + "/*.xml" } ) );
+   }
+
+   @Test
+   public void stoppingWatchModeClosesTheReports() throws Exception {
+      Path models = Files.createDirectory( directory.resolve( "models" ) );
+      Path findings = directory.resolve( "findings.sarif" );
+      Path metrics = directory.resolve( "metrics.json" );
+      AtomicInteger exitCode = new AtomicInteger( -1 );
+      Thread watcher = new Thread( () -> exitCode.set( BatchValidator.run( new String[] { "--watch", "--debounce", "50", "--report-only",
+            "--file-logs", "--findings", findings.toString(), "--metrics", metrics.toString(), models.toString() } ) ) );
+      watcher.start();
+
+      // The watch service may not be registered yet, write the file again until it is validated
+      Path aspect = models.resolve( "Aspect.ttl" );
+      Path log = models.resolve( "Aspect_logs.txt" );
+      for ( int attempt = 0; attempt < 50 && !Files.exists( log ); attempt++ ) {
+         Files.write( aspect, ASPECT.getBytes( StandardCharsets.UTF_8 ) );
+         Thread.sleep( 200 );
+      }
+      assertTrue( Files.exists( log ) );
+
+      // What the shutdown hook does on Ctrl+C
+      watcher.interrupt();
+      watcher.join( 30_000 );
+      assertFalse( watcher.isAlive() );
+      assertEquals( BatchValidator.EXIT_OK, exitCode.get() );
+
+      JSONObject sarif = new JSONObject( new String( Files.readAllBytes( findings ), StandardCharsets.UTF_8 ) );
+      assertTrue( sarif.getJSONArray( "runs" ).getJSONObject( 0 ).getJSONArray( "results" ).length() > 0 );
+      assertTrue( new JSONObject( new String( Files.readAllBytes( metrics ), StandardCharsets.UTF_8 ) ).length() > 0 );
+   }
+}
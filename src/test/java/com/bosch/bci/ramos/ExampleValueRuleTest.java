@@ -0,0 +1,152 @@
+package com.bosch.bci.ramos;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringReader;
+import java.time.Duration;
+import java.util.List;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.Rio;
+import org.junit.jupiter.api.Test;
+
+public class ExampleValueRuleTest {
+   private static final String PREFIXES = "@prefix samm: <urn:samm:org.eclipse.esmf.samm:meta-model:2.1.0#> .\n"
+         + "@prefix samm-c: <urn:samm:org.eclipse.esmf.samm:characteristic:2.1.0#> .\n"
+         + "@prefix xsd: <http://www.w3.org/2001/XMLSchema#> .\n"
+         + "@prefix rdf: <http://www.w3.org/1999/02/22-rdf-syntax-ns#> .\n"
+         + "@prefix : <urn:samm:com.example:1.0.0#> .\n";
+
+   private static List<String> validate( String turtle ) throws Exception {
+      Model model = Rio.parse( new StringReader( PREFIXES + turtle ), "", RDFFormat.TURTLE );
+      SammVocabulary vocabulary = SammVocabulary.forUrn( "urn:samm:org.eclipse.esmf.samm:meta-model:2.1.0#" );
+      RuleContext context = new RuleContext( vocabulary, model, Logger.getLogger( ExampleValueRuleTest.class.getName() ) );
+      new RuleEngine( List.of( new ExampleValueRule( vocabulary ) ) ).run( model, context );
+      return context.getFindings().stream().map( Finding::getMessage ).collect( Collectors.toList() );
+   }
+
+   @Test
+   public void warnsAboutMissingExampleOfScalarCharacteristic() throws Exception {
+      List<String> messages = validate( ":name a samm:Property ; samm:characteristic :Name .\n"
+            + ":Name a samm:Characteristic ; samm:dataType xsd:string .\n" );
+      assertEquals( 1, messages.size() );
+      assertTrue( messages.get( 0 ).startsWith( "Missing 'samm:exampleValue' for property 'urn:samm:com.example:1.0.0#name'" ) );
+   }
+
+   @Test
+   public void warnsAboutInvalidExampleOfTraitOverScalar() throws Exception {
+      List<String> messages = validate( ":count a samm:Property ; samm:characteristic :LimitedCount ; samm:exampleValue \"many\" .\n"
+            + ":LimitedCount a samm-c:Trait ; samm-c:baseCharacteristic :Count .\n"
+            + ":Count a samm:Characteristic ; samm:dataType xsd:int .\n" );
+      assertEquals( 1, messages.size() );
+      assertTrue( messages.get( 0 ).startsWith( "Invalid 'samm:exampleValue' \"many\"" ) );
+   }
+
+   @Test
+   public void ignoresListCharacteristic() throws Exception {
+      List<String> messages = validate( ":names a samm:Property ; samm:characteristic :Names .\n"
+            + ":Names a samm-c:List ; samm:dataType xsd:string .\n" );
+      assertEquals( List.of(), messages );
+   }
+
+   @Test
+   public void ignoresTraitOverList() throws Exception {
+      List<String> messages = validate( ":names a samm:Property ; samm:characteristic :FewNames ; samm:exampleValue \"a\" .\n"
+            + ":FewNames a samm-c:Trait ; samm-c:baseCharacteristic :Names .\n"
+            + ":Names a samm-c:List ; samm:dataType xsd:int .\n" );
+      assertEquals( List.of(), messages );
+   }
+
+   // One property with the example value whose characteristic has the datatype
+   private static List<String> validateExample( String dataType, String example ) throws Exception {
+      return validate( ":value a samm:Property ; samm:characteristic :Value ; samm:exampleValue " + example + " .\n"
+            + ":Value a samm:Characteristic ; samm:dataType " + dataType + " .\n" );
+   }
+
+   @Test
+   public void followsChainOfTraits() throws Exception {
+      List<String> messages = validate( ":count a samm:Property ; samm:characteristic :SmallCount ; samm:exampleValue \"-1\" .\n"
+            + ":SmallCount a samm-c:Trait ; samm-c:baseCharacteristic :LimitedCount .\n"
+            + ":LimitedCount a samm-c:Trait ; samm-c:baseCharacteristic :Count .\n"
+            + ":Count a samm-c:Quantifiable ; samm:dataType xsd:positiveInteger .\n" );
+      assertEquals( 1, messages.size() );
+      assertTrue( messages.get( 0 ).contains( "not a valid http://www.w3.org/2001/XMLSchema#positiveInteger value" ) );
+   }
+
+   @Test
+   public void resolvesPredefinedCharacteristicAtTheEndOfAChain() throws Exception {
+      List<String> messages = validate( ":time a samm:Property ; samm:characteristic :RecentTime ; samm:exampleValue \"yesterday\" .\n"
+            + ":RecentTime a samm-c:Trait ; samm-c:baseCharacteristic samm-c:Timestamp .\n" );
+      assertEquals( 1, messages.size() );
+      assertTrue( messages.get( 0 ).contains( "not a valid http://www.w3.org/2001/XMLSchema#dateTime value" ) );
+   }
+
+   @Test
+   public void endsCycleOfBaseCharacteristics() throws Exception {
+      List<String> messages = validate( ":value a samm:Property ; samm:characteristic :First .\n"
+            + ":First a samm-c:Trait ; samm-c:baseCharacteristic :Second .\n"
+            + ":Second a samm-c:Trait ; samm-c:baseCharacteristic :First .\n" );
+      assertEquals( List.of(), messages );
+   }
+
+   @Test
+   public void checksStructuredValueLikeScalar() throws Exception {
+      List<String> messages = validate( ":date a samm:Property ; samm:characteristic :Date ; samm:exampleValue \"2024-13-45\" .\n"
+            + ":Date a samm-c:StructuredValue ; samm:dataType xsd:date ;\n"
+            + "  samm-c:deconstructionRule \"(\\\\d{4})-(\\\\d{2})-(\\\\d{2})\" .\n" );
+      assertEquals( 1, messages.size() );
+      assertTrue( messages.get( 0 ).startsWith( "Invalid 'samm:exampleValue' \"2024-13-45\"" ) );
+   }
+
+   @Test
+   public void checksHexBinary() throws Exception {
+      assertEquals( List.of(), validateExample( "xsd:hexBinary", "\"0FA1\"" ) );
+      assertEquals( 1, validateExample( "xsd:hexBinary", "\"0FA\"" ).size() );
+      assertEquals( 1, validateExample( "xsd:hexBinary", "\"XY\"" ).size() );
+   }
+
+   @Test
+   public void checksBase64Binary() throws Exception {
+      assertEquals( List.of(), validateExample( "xsd:base64Binary", "\"aGVsbG8=\"" ) );
+      assertEquals( 1, validateExample( "xsd:base64Binary", "\"aGVsbG8\"" ).size() );
+   }
+
+   @Test
+   public void checksLangString() throws Exception {
+      assertEquals( List.of(), validateExample( "rdf:langString", "\"speed\"@en" ) );
+      assertEquals( 1, validateExample( "rdf:langString", "\"speed\"" ).size() );
+   }
+
+   @Test
+   public void checksCurie() throws Exception {
+      assertEquals( List.of(), validateExample( "samm:curie", "\"unit:metre\"" ) );
+      assertEquals( 1, validateExample( "samm:curie", "\"metre\"" ).size() );
+   }
+
+   @Test
+   public void stopsOnceTheDeadlineHasPassed() throws Exception {
+      StringBuilder turtle = new StringBuilder();
+      for ( int i = 0; i < 2 * Deadline.CHECK_INTERVAL; i++ ) {
+         turtle.append( ":value" ).append( i ).append( " a samm:Property ; samm:characteristic samm-c:Text ; samm:exampleValue \"v\" .\n" );
+      }
+      Model model = Rio.parse( new StringReader( PREFIXES + turtle ), "", RDFFormat.TURTLE );
+      SammVocabulary vocabulary = SammVocabulary.forUrn( "urn:samm:org.eclipse.esmf.samm:meta-model:2.1.0#" );
+      RuleContext context = new RuleContext( vocabulary, model, Logger.getLogger( ExampleValueRuleTest.class.getName() ) );
+      RuleEngine engine = new RuleEngine( List.of( new ExampleValueRule( vocabulary ) ) );
+
+      ValidationFailure failure = assertThrows( ValidationFailure.class, () -> engine.run( model, context, Deadline.after( Duration.ofNanos( 1 ) ) ) );
+      assertEquals( ValidationFailure.Kind.TIMEOUT, failure.getKind() );
+   }
+}
@@ -0,0 +1,50 @@
+package com.bosch.bci.ramos;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Literal;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.vocabulary.XSD;
+import org.junit.jupiter.api.Test;
+
+public class LiteralTransformCacheTest {
+   private static final ValueFactory VALUE_FACTORY = SimpleValueFactory.getInstance();
+   private static final IRI SUBJECT = VALUE_FACTORY.createIRI( "urn:samm:com.example:1.0.0#speed" );
+   private static final IRI DESCRIPTION = VALUE_FACTORY.createIRI( "urn:samm:org.eclipse.esmf.samm:meta-model:2.1.0#description" );
+
+   private static Statement description( Literal literal ) {
+      return VALUE_FACTORY.createStatement( SUBJECT, DESCRIPTION, literal );
+   }
+
+   @Test
+   public void keepsTheDatatypeOfEachLiteral() {
+      LiteralTransformCache cache = new LiteralTransformCache( 10 );
+      Literal custom = VALUE_FACTORY.createLiteral( "Speed.", VALUE_FACTORY.createIRI( "urn:samm:com.example:1.0.0#Text" ) );
+      Literal plain = VALUE_FACTORY.createLiteral( "Speed.", XSD.STRING );
+
+      assertEquals( custom, cache.description( description( custom ) ) );
+      assertEquals( plain, cache.description( description( plain ) ) );
+      assertEquals( plain, cache.description( description( plain ) ) );
+      assertEquals( 1, cache.getHits() );
+   }
+
+   @Test
+   public void returnsCachedFix() {
+      LiteralTransformCache cache = new LiteralTransformCache( 10 );
+      Literal description = VALUE_FACTORY.createLiteral( "the speed", "en" );
+
+      assertEquals( VALUE_FACTORY.createLiteral( "Speed.", "en" ), cache.description( description( description ) ) );
+      assertEquals( VALUE_FACTORY.createLiteral( "Speed.", "en" ), cache.description( description( description ) ) );
+      assertEquals( 1, cache.getHits() );
+   }
+}
@@ -0,0 +1,196 @@
+package com.bosch.bci.ramos;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
+import org.eclipse.rdf4j.model.util.Models;
+import org.eclipse.rdf4j.model.vocabulary.RDF;
+import org.eclipse.rdf4j.model.vocabulary.XSD;
+import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.Rio;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class RDFUtilsTest {
+   private static final String SAMM = "urn:samm:org.eclipse.esmf.samm:meta-model:2.1.0#";
+   private static final String NAMESPACE = "urn:samm:com.example:1.0.0#";
+
+   private static final String EXPECTED = "#\n"
+         + "# Copyright (c) 2025 Robert Bosch Manufacturing Solutions GmbH, Germany. All rights reserved.\n"
+         + "#\n"
+         + "\n"
+         + "@prefix samm: <urn:samm:org.eclipse.esmf.samm:meta-model:2.1.0#> .\n"
+         + "@prefix xsd: <http://www.w3.org/2001/XMLSchema#> .\n"
+         + "@prefix : <urn:samm:com.example:1.0.0#> .\n"
+         + "\n"
+         + ":Movement a samm:Aspect;\n"
+         + "  samm:preferredName \"Movement\"@en;\n"
+         + "  samm:properties (:speed);\n"
+         + "  samm:operations ();\n"
+         + "  samm:events () .\n"
+         + "\n"
+         + ":speed a samm:Property;\n"
+         + "  samm:characteristic :Speed;\n"
+         + "  samm:exampleValue \"0.5\"^^xsd:float .\n"
+         + "\n"
+         + ":Speed a samm:Characteristic;\n"
+         + "  samm:dataType xsd:float .\n";
+
+   @TempDir
+   Path directory;
+
+   // An aspect with one property and the empty operation and event lists the Turtle writer emits as rdf:nil
+   private static Model aspect() {
+      ValueFactory valueFactory = SimpleValueFactory.getInstance();
+      SammVocabulary samm = SammVocabulary.forUrn( SAMM );
+      IRI aspect = valueFactory.createIRI( NAMESPACE, "Movement" );
+      IRI property = valueFactory.createIRI( NAMESPACE, "speed" );
+      IRI characteristic = valueFactory.createIRI( NAMESPACE, "Speed" );
+      Model model = new LinkedHashModel();
+      model.setNamespace( "samm", SAMM );
+      model.setNamespace( "xsd", XSD.NAMESPACE );
+      model.setNamespace( "", NAMESPACE );
+      model.add( aspect, RDF.TYPE, samm.aspect );
+      model.add( aspect, samm.preferredName, valueFactory.createLiteral( "Movement", "en" ) );
+      Resource properties = valueFactory.createBNode();
+      model.add( aspect, samm.properties, properties );
+      model.add( properties, RDF.FIRST, property );
+      model.add( properties, RDF.REST, RDF.NIL );
+      model.add( aspect, samm.operations, RDF.NIL );
+      model.add( aspect, samm.events, RDF.NIL );
+      model.add( property, RDF.TYPE, samm.property );
+      model.add( property, samm.characteristic, characteristic );
+      model.add( property, samm.exampleValue, valueFactory.createLiteral( "0.5", XSD.FLOAT ) );
+      model.add( characteristic, RDF.TYPE, samm.characteristicClass );
+      model.add( characteristic, samm.dataType, XSD.FLOAT );
+      return model;
+   }
+
+   @Test
+   public void savesAspectWithNoticeAndEmptyLists() throws Exception {
+      Model model = aspect();
+      Path file = directory.resolve( "Movement.ttl" );
+      RDFUtils.saveModel( model, file.toString(), "2025" );
+
+      String turtle = new String( Files.readAllBytes( file ), StandardCharsets.UTF_8 );
+      assertEquals( EXPECTED, turtle );
+      assertTrue( Models.isomorphic( model, Rio.parse( new StringReader( turtle ), "", RDFFormat.TURTLE ) ) );
+   }
+
+   @Test
+   public void savesParsedAspectUnchanged() throws Exception {
+      Path file = directory.resolve( "Movement.ttl" );
+      Files.write( file, EXPECTED.getBytes( StandardCharsets.UTF_8 ) );
+      Model model = Rio.parse( new StringReader( EXPECTED ), "", RDFFormat.TURTLE );
+      RDFUtils.saveModel( model, file.toString(), "2025" );
+
+      assertEquals( EXPECTED, new String( Files.readAllBytes( file ), StandardCharsets.UTF_8 ) );
+   }
+
+   @Test
+   public void leavesFileAsItWasWhenDeadlinePassesWhileSerializing() throws Exception {
+      Path file = directory.resolve( "Movement.ttl" );
+      Files.write( file, EXPECTED.getBytes( StandardCharsets.UTF_8 ) );
+      Model model = aspect();
+      ValueFactory valueFactory = SimpleValueFactory.getInstance();
+      IRI aspect = valueFactory.createIRI( NAMESPACE, "Movement" );
+      for ( int i = 0; i < 2 * Deadline.CHECK_INTERVAL; i++ ) {
+         model.add( aspect, RDF.VALUE, valueFactory.createLiteral( i ) );
+      }
+
+      ValidationFailure failure = assertThrows( ValidationFailure.class,
+            () -> RDFUtils.saveModel( model, file.toString(), "2025", true, null, Deadline.after( Duration.ofNanos( 1 ) ) ) );
+      assertEquals( ValidationFailure.Kind.TIMEOUT, failure.getKind() );
+      assertEquals( EXPECTED, new String( Files.readAllBytes( file ), StandardCharsets.UTF_8 ) );
+      try ( Stream<Path> files = Files.list( directory ) ) {
+         assertEquals( List.of( file ), files.collect( Collectors.toList() ) );
+      }
+   }
+
+   // Parses the Turtle, saves it and returns the saved text
+   private String resave( String turtle ) throws Exception {
+      Path file = directory.resolve( "Resaved.ttl" );
+      Model model = Rio.parse( new StringReader( turtle ), "", RDFFormat.TURTLE );
+      RDFUtils.saveModel( model, file.toString(), "2025" );
+      String saved = new String( Files.readAllBytes( file ), StandardCharsets.UTF_8 );
+      assertTrue( Models.isomorphic( model, Rio.parse( new StringReader( saved ), "", RDFFormat.TURTLE ) ) );
+      return saved;
+   }
+
+   @Test
+   public void writesEmptyListsAsParentheses() throws Exception {
+      String prefixes = "@prefix samm: <" + SAMM + "> .\n@prefix : <" + NAMESPACE + "> .\n";
+      String saved = resave( prefixes + ":Movement a samm:Aspect ; samm:operations () ; samm:events () .\n" );
+      assertTrue( saved.contains( "samm:operations ();" ), saved );
+      assertTrue( saved.contains( "samm:events () ." ), saved );
+
+      saved = resave( prefixes + "@prefix rdf: <" + RDF.NAMESPACE + "> .\n"
+            + ":Movement a samm:Aspect ; samm:operations rdf:nil ; samm:events <" + RDF.NIL + "> .\n" );
+      assertTrue( saved.contains( "samm:operations ();" ), saved );
+      assertTrue( saved.contains( "samm:events () ." ), saved );
+   }
+
+   @Test
+   public void keepsPatternsInsideLiterals() throws Exception {
+      String saved = resave( "@prefix samm: <" + SAMM + "> .\n@prefix rdf: <" + RDF.NAMESPACE + "> .\n@prefix : <" + NAMESPACE + "> .\n"
+            + ":Movement a samm:Aspect ; samm:operations () ;\n"
+            + "  samm:description \"Write \\\"samm:operations rdf:nil\\\" for none\"@en ;\n"
+            + "  samm:see \"\"\"first line\nsamm:events rdf:nil \\\\\"\"\" .\n" );
+      assertTrue( saved.contains( "samm:operations ();" ), saved );
+      assertTrue( saved.contains( "\\\"samm:operations rdf:nil\\\"" ), saved );
+      assertTrue( saved.contains( "samm:events rdf:nil" ), saved );
+   }
+
+   @Test
+   public void filtersPatternsSplitAcrossChunks() throws Exception {
+      String text = ":Movement samm:operations rdf:nil;\n  samm:description \"no \\\" samm:events rdf:nil\";\n"
+            + "  samm:see \"\"\"samm:operations <" + RDF.NIL + ">\"\"\";\n  samm:events <" + RDF.NIL + "> .\n";
+      String expected = ":Movement samm:operations ();\n  samm:description \"no \\\" samm:events rdf:nil\";\n"
+            + "  samm:see \"\"\"samm:operations <" + RDF.NIL + ">\"\"\";\n  samm:events () .\n";
+      char[] chars = text.toCharArray();
+
+      StringWriter single = new StringWriter();
+      RDFUtils.EmptyListWriter perCharacter = new RDFUtils.EmptyListWriter( single );
+      for ( char c : chars ) {
+         perCharacter.write( c );
+      }
+      perCharacter.finish();
+      assertEquals( expected, single.toString() );
+
+      for ( int first = 0; first <= chars.length; first++ ) {
+         for ( int second = first; second <= chars.length; second++ ) {
+            StringWriter out = new StringWriter();
+            RDFUtils.EmptyListWriter filtered = new RDFUtils.EmptyListWriter( out );
+            filtered.write( chars, 0, first );
+            filtered.write( text, first, second - first );
+            filtered.write( chars, second, chars.length - second );
+            filtered.finish();
+            assertEquals( expected, out.toString(), "split at " + first + " and " + second );
+         }
+      }
+   }
+}
@@ -0,0 +1,55 @@
+package com.bosch.bci.ramos;
+
+/**
+ * Copyright (C) {Robert Bosch GmbH} - All Rights Reserved
+ *
+ * Unauthorized copying of this file, via any medium is strictly prohibited
+ * Proprietary and confidential
+ */
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ResultCacheTest {
+   private static final String SAMM_URN = "urn:samm:org.eclipse.esmf.samm:meta-model:2.1.0#";
+
+   @TempDir
+   Path directory;
+
+   @Test
+   public void keysFullVersionScanApart() {
+      AspectSource source = AspectSource.wrap( "@prefix : <urn:samm:com.example:1.0.0#> .\n".getBytes( StandardCharsets.UTF_8 ) );
+      assertEquals( ResultCache.key( source, SAMM_URN ), ResultCache.key( source, SAMM_URN, false, null ) );
+      assertNotEquals( ResultCache.key( source, SAMM_URN, false, null ), ResultCache.key( source, SAMM_URN, true, null ) );
+   }
+
+   @Test
+   public void storesEntryWithoutLeavingTemporaryFiles() throws Exception {
+      ResultCache cache = new ResultCache( directory );
+      AspectSource source = AspectSource.wrap( "@prefix : <urn:samm:com.example:1.0.0#> .\n".getBytes( StandardCharsets.UTF_8 ) );
+      String key = ResultCache.key( source, SAMM_URN );
+      Finding finding = new Finding( "urn:samm:com.example:1.0.0#speed", "example-value", Finding.Severity.WARNING, "Missing example", null, null );
+      cache.put( key, new ResultCache.Entry( false, List.of( finding ) ) );
+      cache.put( key, new ResultCache.Entry( true, List.of() ) );
+
+      ResultCache.Entry entry = cache.get( key ).orElseThrow();
+      assertTrue( entry.isClean() );
+      assertEquals( List.of(), entry.getFindings() );
+      try ( Stream<Path> files = Files.walk( directory ) ) {
+         List<Path> entries = files.filter( Files::isRegularFile ).collect( Collectors.toList() );
+         assertEquals( 1, entries.size() );
+         assertTrue( entries.get( 0 ).getFileName().toString().endsWith( ".json" ) );
+      }
+   }
+}